@@ -65,7 +65,7 @@ func recordGameResult(ctx context.Context, gameResult GameResultRequest) error {
 	// Read response body (even if we don't use it)
 	_, _ = io.Copy(io.Discard, resp.Body)
 
-	if resp.StatusCode != http.StatusOK && resp.StatusCode != http.StatusCreated {
+	if resp.StatusCode != http.StatusOK && resp.StatusCode != http.StatusCreated && resp.StatusCode != http.StatusAccepted {
 		return fmt.Errorf("scoring service returned status %d", resp.StatusCode)
 	}
 
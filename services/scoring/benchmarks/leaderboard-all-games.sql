@@ -0,0 +1,88 @@
+-- Benchmark for the "all games" leaderboard query (PlayerScoreRepository.findTopNAcrossGames).
+--
+-- Seeds a scratch copy of player_scores with :rows rows (one row per player and game, with the
+-- initial_bet / winnings columns from V10 and the metadata JSON the service writes) and compares the
+-- bounded-window query with the path it replaced: scoreRepository.findAll(), which loaded every row
+-- as a PlayerScore entity and kept each player's best score in a HashMap on the JVM side.
+-- Requires the Flyway migrations to have been applied to the target database.
+--
+--   for n in 10000 100000 1000000 10000000; do
+--     psql -h localhost -U vegas_user -d vegas_casino -v rows=$n -v limit=10 -f benchmarks/leaderboard-all-games.sql
+--   done
+--
+-- Execution time of the first plan should stay flat as :rows grows. For the previous path, the plan
+-- only covers the server-side scan; the timed fetch below it adds shipping every row to the client.
+-- Entity materialization and the per-player reduction in the service came on top of both.
+--
+-- Results on PostgreSQL 16.4 with default settings, 1 vCPU, limit = 10. Plan columns are EXPLAIN ANALYZE
+-- execution time; the fetch column is wall time to read every row through pgjdbc 42.6 (the service's
+-- driver), buffered in memory as Hibernate's findAll() did. Full plans at 1M rows are in
+-- leaderboard-all-games-1m.txt.
+--
+--   rows         findTopNAcrossGames   findAll() scan   findAll() fetch
+--   10,000                  0.33 ms          3.7 ms            83 ms
+--   100,000                 0.35 ms         36.6 ms           360 ms
+--   1,000,000               0.39 ms          326 ms         3,923 ms
+--   10,000,000              1.12 ms        4,065 ms        42,590 ms (client heap raised to 4 GB)
+
+\set ON_ERROR_STOP on
+
+DROP SCHEMA IF EXISTS scoring_bench CASCADE;
+CREATE SCHEMA scoring_bench;
+SET search_path = scoring_bench;
+
+CREATE TABLE player_scores (LIKE public.player_scores INCLUDING ALL);
+
+INSERT INTO player_scores (username, role, game, score, timestamp, metadata, initial_bet, winnings)
+SELECT 'player' || (i / 4),
+       'player',
+       (ARRAY['slots', 'roulette', 'dice', 'blackjack'])[i % 4 + 1],
+       winnings,
+       now() - random() * interval '30 days',
+       '{"initial_bet":' || bet || ',"winnings":' || winnings || '}',
+       bet,
+       winnings
+FROM (SELECT i,
+             round((10 + random() * 490)::numeric, 2) AS bet,
+             round((random() * 10000)::numeric, 2) AS winnings
+      FROM generate_series(0, :rows - 1) AS i) AS seed;
+
+ANALYZE player_scores;
+
+\echo 'rows =' :rows ', limit =' :limit
+
+\echo '--- findTopNAcrossGames (bounded window) ---'
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY)
+WITH RECURSIVE games AS (
+    SELECT MIN(game) AS game FROM player_scores
+    UNION ALL
+    SELECT (SELECT MIN(ps.game) FROM player_scores ps WHERE ps.game > g.game) FROM games g WHERE g.game IS NOT NULL
+), candidates AS (
+    SELECT username, role, game, score, metadata, initial_bet, winnings FROM player_scores
+    ORDER BY score DESC
+    LIMIT :limit * (SELECT COUNT(game) FROM games)
+)
+SELECT username, role, game, score, metadata, initial_bet AS "initialBet", winnings FROM (
+    SELECT DISTINCT ON (username) username, role, game, score, metadata, initial_bet, winnings FROM candidates
+    ORDER BY username, score DESC
+) best
+ORDER BY score DESC LIMIT :limit;
+
+-- The statement Hibernate issues for scoreRepository.findAll() on PlayerScore
+\echo '--- previous approach: findAll(), server-side scan ---'
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY)
+SELECT ps1_0.id, ps1_0.game, ps1_0.initial_bet, ps1_0.metadata, ps1_0.role, ps1_0.score,
+       ps1_0.timestamp, ps1_0.username, ps1_0.winnings
+FROM player_scores ps1_0;
+
+\echo '--- previous approach: findAll(), every row fetched by the client ---'
+\timing on
+\o /dev/null
+SELECT ps1_0.id, ps1_0.game, ps1_0.initial_bet, ps1_0.metadata, ps1_0.role, ps1_0.score,
+       ps1_0.timestamp, ps1_0.username, ps1_0.winnings
+FROM player_scores ps1_0;
+\o
+\timing off
+
+RESET search_path;
+DROP SCHEMA scoring_bench CASCADE;
@@ -0,0 +1,43 @@
+-- Recompute game_stats from game_results.
+--
+-- Run with every scoring replica stopped. Replicas count results in memory after commit and add the
+-- difference to game_stats every few seconds (GameStatsAggregator), so while any replica runs, results
+-- that are already in game_results may still be counted again by its next checkpoint. Stopped replicas
+-- have nothing left to add, and on start they load the rebuilt rows and count from zero.
+--
+--   kubectl scale deployment/vegas-scoring-service --replicas=0
+--   psql -h localhost -U vegas_user -d vegas_casino -f scripts/rebuild-game-stats.sql
+--   kubectl scale deployment/vegas-scoring-service --replicas=1
+--
+-- The GROUP BY reads all of game_results (every partition).
+
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+-- Refuse to run while anything else (a replica's connection pool) is connected to the database
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_stat_activity
+               WHERE datname = current_database() AND pid <> pg_backend_pid()
+                 AND backend_type = 'client backend') THEN
+        RAISE EXCEPTION 'Other sessions are connected to %; stop the scoring replicas first', current_database();
+    END IF;
+END $$;
+
+-- Same filter as the dashboard queries
+INSERT INTO game_stats (game, total_games, total_wins, total_bet_amount, total_payout, updated_at)
+SELECT game, COUNT(*), COUNT(*) FILTER (WHERE win), COALESCE(SUM(bet_amount), 0), COALESCE(SUM(payout), 0), now()
+FROM game_results
+WHERE bet_amount > 0
+GROUP BY game
+ON CONFLICT (game) DO UPDATE SET
+    total_games = EXCLUDED.total_games,
+    total_wins = EXCLUDED.total_wins,
+    total_bet_amount = EXCLUDED.total_bet_amount,
+    total_payout = EXCLUDED.total_payout,
+    updated_at = EXCLUDED.updated_at;
+
+COMMIT;
+
+SELECT game, total_games, total_wins, total_bet_amount, total_payout FROM game_stats ORDER BY game;
@@ -0,0 +1,171 @@
+package com.vegas.scoring.benchmark;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.model.PlayerScore;
+import com.vegas.scoring.repository.GameResultRepository;
+import com.vegas.scoring.repository.LeaderboardEntry;
+import com.vegas.scoring.repository.PlayerScoreRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory stand-ins for the Spring Data repositories, so service code is measured without a database.
+// Only the methods on the benchmarked paths are implemented; anything else throws.
+// The top-N queries return lists sorted once in sortLeaderboards(): what is measured is the service's
+// handling of the rows, not the database query.
+final class InMemoryRepositories {
+
+    private final AtomicLong gameResultIds = new AtomicLong();
+    private final ConcurrentMap<String, PlayerScore> bestScores = new ConcurrentHashMap<>();
+    private final Map<String, List<PlayerScore>> sortedByGame = new HashMap<>();
+    private List<LeaderboardEntry> sortedAcrossGames = new ArrayList<>();
+
+    private static final Comparator<PlayerScore> LEADERBOARD_ORDER =
+            Comparator.comparing(PlayerScore::getScore).reversed().thenComparing(PlayerScore::getUsername);
+
+    GameResultRepository gameResultRepository() {
+        return proxy(GameResultRepository.class, (method, args) -> {
+            if (method.equals("save")) {
+                GameResult result = (GameResult) args[0];
+                result.setId(gameResultIds.incrementAndGet());
+                return result;
+            }
+            return unsupported(method);
+        });
+    }
+
+    PlayerScoreRepository playerScoreRepository() {
+        return proxy(PlayerScoreRepository.class, (method, args) -> {
+            switch (method) {
+                case "upsertBestScore":
+                    return upsertBestScore((String) args[0], (String) args[1], (String) args[2], (Double) args[3],
+                            (LocalDateTime) args[4], (String) args[5], (Double) args[6], (Double) args[7]);
+                case "findFirstByUsernameAndGameOrderByScoreDesc":
+                    return Optional.ofNullable(bestScores.get(key((String) args[0], (String) args[1])));
+                case "findTopNByGame":
+                    List<PlayerScore> board = sortedByGame.getOrDefault((String) args[0], List.of());
+                    return new ArrayList<>(board.subList(0, Math.min((Integer) args[1], board.size())));
+                case "findTopNAcrossGames":
+                    return new ArrayList<>(sortedAcrossGames.subList(0,
+                            Math.min((Integer) args[0], sortedAcrossGames.size())));
+                default:
+                    return unsupported(method);
+            }
+        });
+    }
+
+    // Same rules as the upsert statement: the best score wins and carries its metadata and typed columns
+    private int upsertBestScore(String username, String role, String game, Double score, LocalDateTime timestamp,
+                                String metadata, Double initialBet, Double winnings) {
+        bestScores.compute(key(username, game), (key, current) -> {
+            if (current != null && current.getScore() >= score) {
+                current.setTimestamp(timestamp);
+                return current;
+            }
+            PlayerScore best = new PlayerScore(username, role, game, score);
+            best.setTimestamp(timestamp);
+            best.setMetadata(metadata);
+            best.setInitialBet(initialBet);
+            best.setWinnings(winnings);
+            return best;
+        });
+        return 1;
+    }
+
+    Iterable<PlayerScore> playerScores() {
+        return bestScores.values();
+    }
+
+    // Snapshot of the current scores in leaderboard order, served by the top-N queries
+    void sortLeaderboards() {
+        sortedByGame.clear();
+        Map<String, PlayerScore> bestPerPlayer = new HashMap<>();
+        for (PlayerScore score : bestScores.values()) {
+            sortedByGame.computeIfAbsent(score.getGame(), game -> new ArrayList<>()).add(score);
+            bestPerPlayer.merge(score.getUsername(), score, (a, b) -> a.getScore() >= b.getScore() ? a : b);
+        }
+        sortedByGame.values().forEach(board -> board.sort(LEADERBOARD_ORDER));
+        List<PlayerScore> acrossGames = new ArrayList<>(bestPerPlayer.values());
+        acrossGames.sort(LEADERBOARD_ORDER);
+        sortedAcrossGames = new ArrayList<>(acrossGames.size());
+        for (PlayerScore score : acrossGames) {
+            sortedAcrossGames.add(entry(score));
+        }
+    }
+
+    private static LeaderboardEntry entry(PlayerScore score) {
+        return new LeaderboardEntry() {
+            @Override
+            public String getUsername() {
+                return score.getUsername();
+            }
+
+            @Override
+            public String getRole() {
+                return score.getRole();
+            }
+
+            @Override
+            public String getGame() {
+                return score.getGame();
+            }
+
+            @Override
+            public Double getScore() {
+                return score.getScore();
+            }
+
+            @Override
+            public String getMetadata() {
+                return score.getMetadata();
+            }
+
+            @Override
+            public Double getInitialBet() {
+                return score.getInitialBet();
+            }
+
+            @Override
+            public Double getWinnings() {
+                return score.getWinnings();
+            }
+        };
+    }
+
+    private static String key(String username, String game) {
+        return username + '\u0000' + game;
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "InMemory" + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return handler.invoke(method.getName(), args);
+            }
+        });
+    }
+
+    private static Object unsupported(String method) {
+        throw new UnsupportedOperationException("Not stubbed for benchmarks: " + method);
+    }
+}
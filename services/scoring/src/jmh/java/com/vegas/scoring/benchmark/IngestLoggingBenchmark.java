@@ -0,0 +1,151 @@
+package com.vegas.scoring.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.service.IngestLogSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// Logging cost of one POST /game-result on the request thread:
+//   SYNC    - the former six INFO lines per result, written synchronously (Boot's default console appender)
+//   ASYNC   - the same six lines through the bounded AsyncAppender of logback-spring.xml
+//   SUMMARY - the lines at DEBUG (disabled) plus the per-game IngestLogSummary tally, as deployed now
+// Output goes to a temp file with Boot's console pattern and immediate flush, so formatting and I/O are real.
+// ASYNC may drop INFO events once the queue is 80% full; the scores are request-thread cost, not lines written.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class IngestLoggingBenchmark {
+
+    public enum LoggingMode { SYNC, ASYNC, SUMMARY }
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1 --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"SYNC", "ASYNC", "SUMMARY"})
+    public LoggingMode mode;
+
+    private LoggerContext context;
+    private File logFile;
+    private Logger controllerLogger;
+    private Logger serviceLogger;
+    private IngestLogSummary summary;
+    private GameResult result;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("ingest-logging", ".log").toFile();
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.setImmediateFlush(true);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (mode != LoggingMode.SYNC) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        root.setLevel(Level.INFO);
+
+        controllerLogger = context.getLogger("com.vegas.scoring.controller.ScoringController");
+        serviceLogger = context.getLogger("com.vegas.scoring.service.ScoringService");
+        summary = ScoringServiceFixture.ingestLogSummary();
+
+        result = new GameResult("player-4711", "slots", "spin", 25.0, 60.0, true);
+        result.setId(123456L);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void recordGameResultLogging() {
+        GameResult r = result;
+        if (mode == LoggingMode.SUMMARY) {
+            debugLines(r);
+            summary.onGameResult(r);
+        } else {
+            infoLines(r);
+        }
+    }
+
+    private void infoLines(GameResult r) {
+        controllerLogger.info("Received game result record request: username={}, game={}, action={}, betAmount={}, payout={}, win={}",
+                r.getUsername(), r.getGame(), r.getAction(), r.getBetAmount(), r.getPayout(), r.getWin());
+        serviceLogger.info("Saving game result to database: username={}, game={}, action={}, betAmount={}, payout={}, win={}",
+                r.getUsername(), r.getGame(), r.getAction(), r.getBetAmount(), r.getPayout(), r.getWin());
+        serviceLogger.info("Successfully saved game result to database: id={}, username={}, game={}, action={}, win={}",
+                r.getId(), r.getUsername(), r.getGame(), r.getAction(), r.getWin());
+        serviceLogger.info("Updating player score: username={}, game={}, betAmount={}, payout={}",
+                r.getUsername(), r.getGame(), r.getBetAmount(), r.getPayout());
+        serviceLogger.info("Upserted player score: username={}, game={}, payout={}, betAmount={}",
+                r.getUsername(), r.getGame(), r.getPayout(), r.getBetAmount());
+        controllerLogger.info("Successfully processed game result record request: id={}, username={}, game={}, action={}, win={}",
+                r.getId(), r.getUsername(), r.getGame(), r.getAction(), r.getWin());
+    }
+
+    private void debugLines(GameResult r) {
+        controllerLogger.debug("Received game result record request: username={}, game={}, action={}, betAmount={}, payout={}, win={}",
+                r.getUsername(), r.getGame(), r.getAction(), r.getBetAmount(), r.getPayout(), r.getWin());
+        serviceLogger.debug("Saving game result to database: username={}, game={}, action={}, betAmount={}, payout={}, win={}",
+                r.getUsername(), r.getGame(), r.getAction(), r.getBetAmount(), r.getPayout(), r.getWin());
+        serviceLogger.debug("Successfully saved game result to database: id={}, username={}, game={}, action={}, win={}",
+                r.getId(), r.getUsername(), r.getGame(), r.getAction(), r.getWin());
+        serviceLogger.debug("Updating player score: username={}, game={}, betAmount={}, payout={}",
+                r.getUsername(), r.getGame(), r.getBetAmount(), r.getPayout());
+        serviceLogger.debug("Upserted player score: username={}, game={}, payout={}, betAmount={}",
+                r.getUsername(), r.getGame(), r.getPayout(), r.getBetAmount());
+        controllerLogger.debug("Successfully processed game result record request: id={}, username={}, game={}, action={}, win={}",
+                r.getId(), r.getUsername(), r.getGame(), r.getAction(), r.getWin());
+    }
+}
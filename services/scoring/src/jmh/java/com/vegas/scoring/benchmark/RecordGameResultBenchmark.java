@@ -0,0 +1,90 @@
+package com.vegas.scoring.benchmark;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.service.ScoringService;
+import com.vegas.scoring.stats.GameStatsAggregator;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// ScoringService.recordGameResult for one spin, inside a SERVER span as HttpServerTelemetryFilter creates it:
+// the game_results insert and player_scores upsert (in memory), score metadata JSON, the db.* spans in each
+// tracing mode, the leaderboard index offer and the in-process listeners (game stats, quantile sketches,
+// ingest log summary). Players and games are drawn at random from a fixed pool.
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordGameResultBenchmark {
+
+    private static final String[] GAMES = {"slots", "roulette", "dice", "blackjack"};
+    private static final int PLAYERS = 10_000;
+
+    @Param({"OFF", "SPANS", "SAMPLED", "EVENTS"})
+    public ScoringServiceFixture.Tracing tracing;
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private ScoringService scoringService;
+    private String[] usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tracerProvider = ScoringServiceFixture.tracerProvider(tracing);
+        tracer = ScoringServiceFixture.tracer(tracing, tracerProvider);
+        scoringService = ScoringServiceFixture.scoringService(new InMemoryRepositories(),
+                ScoringServiceFixture.leaderboardIndex(true), ScoringServiceFixture.objectMapper(), tracer,
+                List.of(new GameStatsAggregator(), ScoringServiceFixture.quantileAggregator(), ScoringServiceFixture.ingestLogSummary()));
+        usernames = new String[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            usernames[i] = "player-" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (tracerProvider != null) {
+            tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Benchmark
+    public GameResult recordGameResult() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String username = usernames[random.nextInt(PLAYERS)];
+        String game = GAMES[random.nextInt(GAMES.length)];
+        double betAmount = 5 * (1 + random.nextInt(20));
+        boolean win = random.nextInt(100) < 45;
+        double payout = win ? betAmount * 2 : 0.0;
+
+        Span span = tracer.spanBuilder("POST /api/scoring/game-result")
+                .setSpanKind(SpanKind.SERVER)
+                .startSpan();
+        try (Scope scope = span.makeCurrent()) {
+            return scoringService.recordGameResult(username, game, "spin", betAmount, payout, win,
+                    win ? "win" : "lose", "{\"reels\":[3,7,7]}", null);
+        } finally {
+            span.end();
+        }
+    }
+}
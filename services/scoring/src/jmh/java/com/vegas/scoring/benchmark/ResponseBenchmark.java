@@ -0,0 +1,177 @@
+package com.vegas.scoring.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegas.scoring.dto.DashboardStats;
+import com.vegas.scoring.dto.ScoreResponse;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.model.PlayerScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Response-side work of the leaderboard and dashboard endpoints, with Boot's ObjectMapper defaults:
+//   topPlayersTyped / topPlayersFromMetadata - dashboard top players built from the typed initial_bet and
+//       winnings columns (current) versus parsing each player's metadata JSON (before the typed columns)
+//   scoreResponses - the leaderboard's PlayerScore -> ScoreResponse mapping with ranks
+//   serialize*     - Jackson serialization of DashboardStats, a leaderboard and a GameResult
+// players is the number of top players (the dashboard uses 10).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBenchmark {
+
+    @Param({"10", "100"})
+    public int players;
+
+    private ObjectMapper objectMapper;
+    private List<PlayerScore> topPlayerScores;
+    private List<ScoreResponse> leaderboard;
+    private DashboardStats dashboardStats;
+    private GameResult gameResult;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = ScoringServiceFixture.objectMapper();
+        LocalDateTime now = LocalDateTime.now();
+
+        topPlayerScores = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            double bet = 5 * (1 + i % 20);
+            double winnings = 10_000 - i * 37.5;
+            PlayerScore score = new PlayerScore("player-" + i, "player", "slots", winnings);
+            score.setTimestamp(now);
+            score.setInitialBet(bet);
+            score.setWinnings(winnings);
+            score.setMetadata(objectMapper.createObjectNode()
+                    .put("initial_bet", bet)
+                    .put("winnings", winnings)
+                    .put("net_winnings", winnings - bet)
+                    .put("timestamp", now.toString())
+                    .toString());
+            topPlayerScores.add(score);
+        }
+        leaderboard = scoreResponses();
+
+        dashboardStats = new DashboardStats();
+        dashboardStats.setGame("slots");
+        dashboardStats.setTotalGames(1_250_000L);
+        dashboardStats.setTotalWins(560_000L);
+        dashboardStats.setTotalLosses(690_000L);
+        dashboardStats.setWinRate(44.8);
+        dashboardStats.setTotalBetAmount(31_250_000.0);
+        dashboardStats.setTotalPayout(29_687_500.0);
+        dashboardStats.setNetRevenue(1_562_500.0);
+        dashboardStats.setAverageBetAmount(25.0);
+        dashboardStats.setAveragePayout(23.75);
+        dashboardStats.setBetAmountPercentiles(percentiles(10, 25, 95, 100));
+        dashboardStats.setPayoutPercentiles(percentiles(0, 50, 400, 2_000));
+        dashboardStats.setNetWinPercentiles(percentiles(-10, 25, 300, 1_900));
+        dashboardStats.setRecentGames(86_400L);
+        dashboardStats.setRecentGamesByWindow(windows(3_600, 86_400, 604_800));
+        dashboardStats.setUniquePlayers(12_000L);
+        dashboardStats.setUniquePlayersByWindow(windows(1_500, 12_000, 48_000));
+        dashboardStats.setTopPlayers(topPlayersTyped());
+        dashboardStats.setStale(false);
+
+        gameResult = new GameResult("player-4711", "slots", "spin", 25.0, 60.0, true);
+        gameResult.setId(123_456L);
+        gameResult.setResult("win");
+        gameResult.setGameData("{\"reels\":[3,7,7]}");
+    }
+
+    // As ScoringService builds DashboardStats.topPlayers
+    @Benchmark
+    public List<ScoreResponse> topPlayersTyped() {
+        return IntStream.range(0, topPlayerScores.size())
+                .mapToObj(i -> {
+                    PlayerScore score = topPlayerScores.get(i);
+                    return new ScoreResponse(score.getUsername(), score.getRole(), score.getGame(), score.getScore(),
+                            (long) (i + 1), score.getInitialBet(),
+                            score.getWinnings() != null ? score.getWinnings() : score.getScore());
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Baseline: bet and winnings read back from each player's metadata JSON
+    @Benchmark
+    public List<ScoreResponse> topPlayersFromMetadata() throws JsonProcessingException {
+        List<ScoreResponse> topPlayers = new ArrayList<>(topPlayerScores.size());
+        for (int i = 0; i < topPlayerScores.size(); i++) {
+            PlayerScore score = topPlayerScores.get(i);
+            JsonNode metadata = objectMapper.readTree(score.getMetadata());
+            JsonNode initialBet = metadata.get("initial_bet");
+            JsonNode winnings = metadata.get("winnings");
+            topPlayers.add(new ScoreResponse(score.getUsername(), score.getRole(), score.getGame(), score.getScore(),
+                    (long) (i + 1), initialBet != null ? initialBet.asDouble() : null,
+                    winnings != null ? winnings.asDouble() : score.getScore()));
+        }
+        return topPlayers;
+    }
+
+    // As ScoringController builds GET /leaderboard/{game}
+    @Benchmark
+    public List<ScoreResponse> scoreResponses() {
+        return IntStream.range(0, topPlayerScores.size())
+                .mapToObj(i -> {
+                    PlayerScore score = topPlayerScores.get(i);
+                    return new ScoreResponse(score.getUsername(), score.getRole(), score.getGame(), score.getScore(),
+                            (long) (i + 1));
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeDashboardStats() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dashboardStats);
+    }
+
+    @Benchmark
+    public byte[] serializeLeaderboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leaderboard);
+    }
+
+    @Benchmark
+    public byte[] serializeGameResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameResult);
+    }
+
+    private static Map<String, Double> percentiles(double p50, double p90, double p99, double p999) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", p50);
+        percentiles.put("p90", p90);
+        percentiles.put("p99", p99);
+        percentiles.put("p999", p999);
+        return percentiles;
+    }
+
+    private static Map<String, Long> windows(long hour, long day, long week) {
+        Map<String, Long> windows = new LinkedHashMap<>();
+        windows.put("1h", hour);
+        windows.put("24h", day);
+        windows.put("7d", week);
+        return windows;
+    }
+}
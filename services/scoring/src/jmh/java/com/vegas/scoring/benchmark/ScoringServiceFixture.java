@@ -0,0 +1,133 @@
+package com.vegas.scoring.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegas.scoring.config.DbSpanTracer;
+import com.vegas.scoring.leaderboard.LeaderboardIndex;
+import com.vegas.scoring.service.GameResultListener;
+import com.vegas.scoring.service.IngestLogSummary;
+import com.vegas.scoring.service.ScoringService;
+import com.vegas.scoring.service.TrackedGames;
+import com.vegas.scoring.stats.QuantileAggregator;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.TracerProvider;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+// A ScoringService wired by hand: in-memory repositories, a real LeaderboardIndex and Boot's ObjectMapper
+// defaults. No Spring context, so @Transactional does not apply and post-commit work runs inline.
+public final class ScoringServiceFixture {
+
+    // How the service's spans are recorded. Ended spans are exported inline (SimpleSpanProcessor) to an exporter
+    // that discards them: the SDK cost of every recorded span, including its conversion for export, is counted
+    // in the operation that produced it, and none are dropped because a batch worker thread fell behind.
+    public enum Tracing {
+        // No-op tracer, as with tracing disabled
+        OFF,
+        // Every request and db.* span recorded (scoring.tracing.db-spans=spans)
+        SPANS,
+        // 10% of requests sampled, db.* spans only inside sampled ones (parentbased_traceidratio + sampled)
+        SAMPLED,
+        // Every request recorded, db.* calls as events on it (scoring.tracing.db-spans=events)
+        EVENTS
+    }
+
+    private ScoringServiceFixture() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    // The four games the benchmarks use, as in the default scoring.games
+    static TrackedGames trackedGames() {
+        TrackedGames trackedGames = new TrackedGames();
+        ReflectionTestUtils.invokeMethod(trackedGames, "setConfigured", List.of("slots", "roulette", "dice", "blackjack"));
+        ReflectionTestUtils.setField(trackedGames, "maxTracked", 32);
+        return trackedGames;
+    }
+
+    static QuantileAggregator quantileAggregator() {
+        QuantileAggregator aggregator = new QuantileAggregator();
+        ReflectionTestUtils.setField(aggregator, "trackedGames", trackedGames());
+        return aggregator;
+    }
+
+    static IngestLogSummary ingestLogSummary() {
+        IngestLogSummary summary = new IngestLogSummary();
+        ReflectionTestUtils.setField(summary, "trackedGames", trackedGames());
+        return summary;
+    }
+
+    static LeaderboardIndex leaderboardIndex(boolean ready) {
+        LeaderboardIndex index = new LeaderboardIndex();
+        ReflectionTestUtils.setField(index, "trackedGames", trackedGames());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "ready", ready);
+        return index;
+    }
+
+    static SdkTracerProvider tracerProvider(Tracing tracing) {
+        if (tracing == Tracing.OFF) {
+            return null;
+        }
+        Sampler sampler = tracing == Tracing.SAMPLED
+                ? Sampler.parentBased(Sampler.traceIdRatioBased(0.1))
+                : Sampler.parentBased(Sampler.alwaysOn());
+        return SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new DiscardingSpanExporter()))
+                .setSampler(sampler)
+                .build();
+    }
+
+    static Tracer tracer(Tracing tracing, SdkTracerProvider provider) {
+        switch (tracing) {
+            case SPANS:
+                return new DbSpanTracer(provider.get("benchmark"), DbSpanTracer.Mode.SPANS);
+            case SAMPLED:
+                return new DbSpanTracer(provider.get("benchmark"), DbSpanTracer.Mode.SAMPLED);
+            case EVENTS:
+                return new DbSpanTracer(provider.get("benchmark"), DbSpanTracer.Mode.EVENTS);
+            default:
+                return TracerProvider.noop().get("benchmark");
+        }
+    }
+
+    static ScoringService scoringService(InMemoryRepositories repositories, LeaderboardIndex index,
+                                         ObjectMapper objectMapper, Tracer tracer,
+                                         List<GameResultListener> listeners) {
+        ScoringService service = new ScoringService();
+        ReflectionTestUtils.setField(service, "scoreRepository", repositories.playerScoreRepository());
+        ReflectionTestUtils.setField(service, "gameResultRepository", repositories.gameResultRepository());
+        ReflectionTestUtils.setField(service, "leaderboardIndex", index);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "tracer", tracer);
+        ReflectionTestUtils.setField(service, "gameResultListeners", listeners);
+        return service;
+    }
+
+    private static final class DiscardingSpanExporter implements SpanExporter {
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.vegas.scoring.benchmark;
+
+import com.vegas.scoring.leaderboard.LeaderboardIndex;
+import com.vegas.scoring.model.PlayerScore;
+import com.vegas.scoring.repository.PlayerScoreRepository;
+import com.vegas.scoring.service.ScoringService;
+import io.opentelemetry.api.trace.TracerProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// ScoringService.getTopPlayers for one game and for "all", over player_scores tables of different sizes.
+//   INDEX    - served from the in-memory LeaderboardIndex (the normal path once it has warmed up)
+//   DATABASE - the fallback before warm-up; the stub returns pre-sorted rows, so this is the service's
+//              row mapping (LeaderboardEntry -> PlayerScore for "all") without the query itself
+// Rows are spread over four games, one row per (player, game), as in player_scores.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TopPlayersBenchmark {
+
+    public enum Source { INDEX, DATABASE }
+
+    private static final String[] GAMES = {"slots", "roulette", "dice", "blackjack"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"slots", "all"})
+    public String game;
+
+    @Param({"10", "100"})
+    public int limit;
+
+    @Param({"INDEX", "DATABASE"})
+    public Source source;
+
+    private ScoringService scoringService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryRepositories repositories = new InMemoryRepositories();
+        LeaderboardIndex index = ScoringServiceFixture.leaderboardIndex(source == Source.INDEX);
+        scoringService = ScoringServiceFixture.scoringService(repositories, index,
+                ScoringServiceFixture.objectMapper(), TracerProvider.noop().get("benchmark"), List.of());
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        PlayerScoreRepository scoreRepository = repositories.playerScoreRepository();
+        for (int i = 0; i < rows; i++) {
+            double bet = 5 * (1 + random.nextInt(20));
+            double payout = Math.floor(bet * random.nextDouble() * 50);
+            scoreRepository.upsertBestScore("player-" + (i / GAMES.length), "player", GAMES[i % GAMES.length],
+                    payout, now, null, bet, payout);
+        }
+        repositories.sortLeaderboards();
+        if (source == Source.INDEX) {
+            for (PlayerScore score : repositories.playerScores()) {
+                index.offer(score);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<PlayerScore> getTopPlayers() {
+        return scoringService.getTopPlayers(game, limit);
+    }
+}
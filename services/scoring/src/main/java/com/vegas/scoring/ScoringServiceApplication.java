@@ -2,8 +2,10 @@ package com.vegas.scoring;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ScoringServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(ScoringServiceApplication.class, args);
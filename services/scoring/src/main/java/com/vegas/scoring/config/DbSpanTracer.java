@@ -0,0 +1,206 @@
+package com.vegas.scoring.config;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.TracerProvider;
+import io.opentelemetry.context.Context;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Tracer that decides how the per-call "db.*" CLIENT spans are recorded; every other span is unchanged.
+//   spans   - a full span per database call (default)
+//   sampled - a span only when the current request span is sampled; otherwise a no-op builder that
+//             skips id generation and attribute collection
+//   events  - no span: the call becomes an event on the current span with its duration and error flag
+//             (the per-call attributes are dropped; the request span already carries game and user)
+public class DbSpanTracer implements Tracer {
+
+    public enum Mode {
+        SPANS, SAMPLED, EVENTS;
+
+        public static Mode parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final String DB_SPAN_PREFIX = "db.";
+
+    private static final AttributeKey<Double> DURATION_MS = AttributeKey.doubleKey("db.duration_ms");
+    private static final AttributeKey<Boolean> ERROR = AttributeKey.booleanKey("error");
+
+    private static final Tracer NOOP = TracerProvider.noop().get("noop");
+
+    private final Tracer delegate;
+    private final Mode mode;
+
+    public DbSpanTracer(Tracer delegate, Mode mode) {
+        this.delegate = delegate;
+        this.mode = mode;
+    }
+
+    @Override
+    public SpanBuilder spanBuilder(String spanName) {
+        if (mode == Mode.SPANS || !spanName.startsWith(DB_SPAN_PREFIX)) {
+            return delegate.spanBuilder(spanName);
+        }
+        Span parent = Span.current();
+        if (mode == Mode.SAMPLED) {
+            return parent.getSpanContext().isSampled() ? delegate.spanBuilder(spanName) : NOOP.spanBuilder(spanName);
+        }
+        return parent.isRecording() ? new EventSpanBuilder(spanName, parent) : NOOP.spanBuilder(spanName);
+    }
+
+    private static final class EventSpanBuilder implements SpanBuilder {
+        private final String name;
+        private final Span parent;
+
+        EventSpanBuilder(String name, Span parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        @Override
+        public SpanBuilder setParent(Context context) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder setNoParent() {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder addLink(SpanContext spanContext) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder addLink(SpanContext spanContext, Attributes attributes) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder setAttribute(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder setAttribute(String key, long value) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder setAttribute(String key, double value) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder setAttribute(String key, boolean value) {
+            return this;
+        }
+
+        @Override
+        public <T> SpanBuilder setAttribute(AttributeKey<T> key, T value) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder setSpanKind(SpanKind spanKind) {
+            return this;
+        }
+
+        @Override
+        public SpanBuilder setStartTimestamp(long startTimestamp, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Span startSpan() {
+            return new EventSpan(name, parent, System.nanoTime());
+        }
+    }
+
+    // Stands in for the db span; shares the parent's context so nested work stays under the request span
+    private static final class EventSpan implements Span {
+        private final String name;
+        private final Span parent;
+        private final long startNanos;
+        private boolean error;
+        private boolean ended;
+
+        EventSpan(String name, Span parent, long startNanos) {
+            this.name = name;
+            this.parent = parent;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public <T> Span setAttribute(AttributeKey<T> key, T value) {
+            return this;
+        }
+
+        @Override
+        public Span addEvent(String eventName, Attributes attributes) {
+            parent.addEvent(eventName, attributes);
+            return this;
+        }
+
+        @Override
+        public Span addEvent(String eventName, Attributes attributes, long timestamp, TimeUnit unit) {
+            parent.addEvent(eventName, attributes, timestamp, unit);
+            return this;
+        }
+
+        @Override
+        public Span setStatus(StatusCode statusCode, String description) {
+            error = statusCode == StatusCode.ERROR;
+            return this;
+        }
+
+        @Override
+        public Span recordException(Throwable exception, Attributes additionalAttributes) {
+            error = true;
+            parent.recordException(exception, additionalAttributes);
+            return this;
+        }
+
+        @Override
+        public Span updateName(String name) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            parent.addEvent(name, Attributes.of(
+                    DURATION_MS, (System.nanoTime() - startNanos) / 1_000_000.0,
+                    ERROR, error));
+        }
+
+        @Override
+        public void end(long timestamp, TimeUnit unit) {
+            end();
+        }
+
+        @Override
+        public SpanContext getSpanContext() {
+            return parent.getSpanContext();
+        }
+
+        // Not recording, so callers can skip building attributes that would be dropped anyway
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+    }
+}
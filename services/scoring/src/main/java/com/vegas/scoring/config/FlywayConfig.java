@@ -0,0 +1,25 @@
+package com.vegas.scoring.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class FlywayConfig {
+
+    // ${today} for migrations that lay out date ranges (V6's daily game_results partitions). Taken from the
+    // JVM clock, which also stamps game results and drives GameResultPartitionMaintainer, so partition
+    // boundaries agree with row timestamps even when the database runs in another time zone.
+    @Bean
+    public FlywayConfigurationCustomizer todayPlaceholder() {
+        return configuration -> {
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.put("today", LocalDate.now().toString());
+            configuration.placeholders(placeholders);
+        };
+    }
+}
@@ -5,16 +5,27 @@ import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
 import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.semconv.ResourceAttributes;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Locale;
+
 @Configuration
 public class OpenTelemetryConfig {
 
@@ -27,6 +38,24 @@ public class OpenTelemetryConfig {
     @Value("${otel.exporter.otlp.endpoint:localhost:4317}")
     private String otlpEndpoint;
 
+    // Same names as the OTEL_TRACES_SAMPLER environment variable of the autoconfigured SDK
+    @Value("${otel.traces.sampler:parentbased_always_on}")
+    private String samplerName;
+
+    @Value("${otel.traces.sampler.arg:1.0}")
+    private double samplerRatio;
+
+    @Value("${otel.metric.export.interval:60000}")
+    private long metricExportIntervalMs;
+
+    // delta or cumulative; Dynatrace ingests delta only
+    @Value("${otel.exporter.otlp.metrics.temporality.preference:delta}")
+    private String metricTemporality;
+
+    // spans, sampled or events; see DbSpanTracer
+    @Value("${scoring.tracing.db-spans:spans}")
+    private String dbSpanMode;
+
     @Bean
     public OpenTelemetry openTelemetry() {
         // Always create our own OpenTelemetry instance with OTLP exporter
@@ -80,12 +109,31 @@ public class OpenTelemetryConfig {
 
         SdkTracerProvider sdkTracerProvider = SdkTracerProvider.builder()
                 .addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build())
+                .setSampler(sampler())
+                .setResource(resource)
+                .build();
+
+        // Histograms use base-2 exponential buckets: fine resolution for latencies without configuring boundaries
+        OtlpGrpcMetricExporter metricExporter = OtlpGrpcMetricExporter.builder()
+                .setEndpoint(endpoint)
+                .setDefaultAggregationSelector(DefaultAggregationSelector.getDefault()
+                        .with(InstrumentType.HISTOGRAM, Aggregation.base2ExponentialBucketHistogram()))
+                .setAggregationTemporalitySelector("cumulative".equalsIgnoreCase(metricTemporality)
+                        ? AggregationTemporalitySelector.alwaysCumulative()
+                        : AggregationTemporalitySelector.deltaPreferred())
+                .build();
+
+        SdkMeterProvider sdkMeterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(PeriodicMetricReader.builder(metricExporter)
+                        .setInterval(Duration.ofMillis(metricExportIntervalMs))
+                        .build())
                 .setResource(resource)
                 .build();
 
         // Create OpenTelemetry SDK instance
         OpenTelemetrySdk sdk = OpenTelemetrySdk.builder()
                 .setTracerProvider(sdkTracerProvider)
+                .setMeterProvider(sdkMeterProvider)
                 .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
                 .build();
         
@@ -106,7 +154,32 @@ public class OpenTelemetryConfig {
     public io.opentelemetry.api.trace.Tracer tracer(OpenTelemetry openTelemetry) {
         // Use the OpenTelemetry instance we created (with OTLP exporter) instead of GlobalOpenTelemetry
         // This ensures manual spans are exported via our configured exporter
-        return openTelemetry.getTracer(serviceName);
+        return new DbSpanTracer(openTelemetry.getTracer(serviceName), DbSpanTracer.Mode.parse(dbSpanMode));
+    }
+
+    // Parent-based samplers follow the caller's decision and only apply their own rule to new traces
+    private Sampler sampler() {
+        switch (samplerName.trim().toLowerCase(Locale.ROOT)) {
+            case "always_on":
+                return Sampler.alwaysOn();
+            case "always_off":
+                return Sampler.alwaysOff();
+            case "traceidratio":
+                return Sampler.traceIdRatioBased(samplerRatio);
+            case "parentbased_always_on":
+                return Sampler.parentBased(Sampler.alwaysOn());
+            case "parentbased_always_off":
+                return Sampler.parentBased(Sampler.alwaysOff());
+            case "parentbased_traceidratio":
+                return Sampler.parentBased(Sampler.traceIdRatioBased(samplerRatio));
+            default:
+                throw new IllegalArgumentException("Unsupported otel.traces.sampler: " + samplerName);
+        }
+    }
+
+    @Bean
+    public io.opentelemetry.api.metrics.Meter meter(OpenTelemetry openTelemetry) {
+        return openTelemetry.getMeter(serviceName);
     }
 }
 
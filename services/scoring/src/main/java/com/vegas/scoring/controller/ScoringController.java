@@ -3,30 +3,46 @@ package com.vegas.scoring.controller;
 import com.vegas.scoring.dto.ScoreRequest;
 import com.vegas.scoring.dto.ScoreResponse;
 import com.vegas.scoring.dto.GameResultRequest;
+import com.vegas.scoring.dto.GameResultBatchResponse;
+import com.vegas.scoring.dto.GameResultPage;
 import com.vegas.scoring.dto.DashboardStats;
+import com.vegas.scoring.dto.HeavyHittersResponse;
+import com.vegas.scoring.dto.PlayerRankResponse;
+import com.vegas.scoring.dto.TimeseriesResponse;
 import com.vegas.scoring.model.PlayerScore;
 import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.service.GameResultExporter;
+import com.vegas.scoring.service.GameResultIngestQueue;
 import com.vegas.scoring.service.ScoringService;
-import io.opentelemetry.api.GlobalOpenTelemetry;
+import com.vegas.scoring.stats.HeavyHitterAggregator;
+import com.vegas.scoring.stream.LiveUpdateBroadcaster;
 import io.opentelemetry.api.trace.Span;
-import io.opentelemetry.api.trace.SpanKind;
-import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
-import io.opentelemetry.context.propagation.TextMapGetter;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/scoring")
@@ -35,44 +51,49 @@ public class ScoringController {
 
     private static final Logger logger = LoggerFactory.getLogger(ScoringController.class);
 
+    private static final int MAX_RANK_NEIGHBOURS = 50;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
+    private static final int MAX_TIMESERIES_POINTS = 10_000;
+
+    private static final int MAX_HEAVY_HITTERS = 100;
+
     @Autowired
     private ScoringService scoringService;
 
     @Autowired
-    @Qualifier("tracer")
-    private Tracer tracer;
+    private GameResultIngestQueue ingestQueue;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private LiveUpdateBroadcaster liveUpdateBroadcaster;
 
+    @Autowired
+    private GameResultExporter gameResultExporter;
+
+    @Autowired
+    private HeavyHitterAggregator heavyHitterAggregator;
+
+    @Value("${scoring.batch.max-size:1000}")
+    private int batchMaxSize;
+
+    // Responds with the submitted score. player_scores keeps only the best score per (username, game), so the
+    // leaderboard may still show a higher earlier score for this player.
     @PostMapping("/record")
     public ResponseEntity<ScoreResponse> recordScore(
-            @Valid @RequestBody ScoreRequest request,
-            HttpServletRequest httpRequest) {
-        logger.info("Received score record request: username={}, game={}, score={}, role={}", 
+            @Valid @RequestBody ScoreRequest request) {
+        logger.debug("Received score record request: username={}, game={}, score={}, role={}", 
                 request.getUsername(), request.getGame(), request.getScore(), request.getRole());
         
-        // Extract trace context from HTTP headers
-        Context parentContext = GlobalOpenTelemetry.getPropagators()
-                .getTextMapPropagator()
-                .extract(Context.current(), httpRequest, new TextMapGetter<HttpServletRequest>() {
-                    @Override
-                    public Iterable<String> keys(HttpServletRequest carrier) {
-                        return java.util.Collections.list(carrier.getHeaderNames());
-                    }
-
-                    @Override
-                    public String get(HttpServletRequest carrier, String key) {
-                        return carrier.getHeader(key);
-                    }
-                });
-        
-        Span span = tracer.spanBuilder("scoring.record")
-                .setParent(parentContext)
-                .setSpanKind(SpanKind.SERVER)
+        Span span = Span.current()
                 .setAttribute("scoring.username", request.getUsername())
                 .setAttribute("scoring.game", request.getGame())
-                .setAttribute("scoring.score", request.getScore())
-                .startSpan();
+                .setAttribute("scoring.score", request.getScore());
 
-        try (Scope scope = span.makeCurrent()) {
+        try {
             PlayerScore score = scoringService.recordScore(
                     request.getUsername(),
                     request.getRole(),
@@ -89,17 +110,14 @@ public class ScoringController {
                     null // Rank not calculated for individual records
             );
 
-            logger.info("Successfully processed score record request: id={}, username={}, game={}, score={}", 
-                    score.getId(), score.getUsername(), score.getGame(), score.getScore());
+            logger.debug("Successfully processed score record request: username={}, game={}, score={}", 
+                    score.getUsername(), score.getGame(), score.getScore());
             
             span.setAttribute("scoring.recorded", true);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
-            span.recordException(e);
             span.setAttribute("scoring.error", true);
             throw e;
-        } finally {
-            span.end();
         }
     }
 
@@ -108,12 +126,11 @@ public class ScoringController {
             @PathVariable String game,
             @RequestParam(defaultValue = "10") int limit) {
         
-        Span span = tracer.spanBuilder("scoring.leaderboard")
+        Span span = Span.current()
                 .setAttribute("scoring.game", game)
-                .setAttribute("scoring.limit", limit)
-                .startSpan();
+                .setAttribute("scoring.limit", limit);
 
-        try (Scope scope = span.makeCurrent()) {
+        try {
             List<PlayerScore> scores = scoringService.getTopPlayers(game, limit);
             
             List<ScoreResponse> leaderboard = IntStream.range(0, scores.size())
@@ -132,20 +149,68 @@ public class ScoringController {
             span.setAttribute("scoring.results_count", leaderboard.size());
             return ResponseEntity.ok(leaderboard);
         } catch (Exception e) {
-            span.recordException(e);
             span.setAttribute("scoring.error", true);
             throw e;
-        } finally {
-            span.end();
         }
     }
 
+    // Live leaderboard deltas ("leaderboard") and aggregate updates ("stats") as server-sent events,
+    // for tracked games and "all"
+    @GetMapping(path = "/stream/{game}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUpdates(@PathVariable String game) {
+        if (!liveUpdateBroadcaster.isStreamable(game)) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = liveUpdateBroadcaster.subscribe(game);
+        if (emitter == null) {
+            logger.warn("Rejecting live update stream, subscriber limit reached: game={}", game);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @GetMapping("/rank/{game}/{username}")
+    public ResponseEntity<PlayerRankResponse> getPlayerRank(
+            @PathVariable String game,
+            @PathVariable String username,
+            @RequestParam(defaultValue = "5") int neighbours) {
+        Span span = Span.current()
+                .setAttribute("scoring.game", game)
+                .setAttribute("scoring.username", username)
+                .setAttribute("scoring.neighbours", neighbours);
+
+        if (!scoringService.isRankAvailable(game)) {
+            span.setAttribute("scoring.rank_unavailable", true);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+
+        try {
+            int boundedNeighbours = Math.max(0, Math.min(neighbours, MAX_RANK_NEIGHBOURS));
+            PlayerRankResponse rank = scoringService.getPlayerRank(game, username, boundedNeighbours);
+            if (rank == null) {
+                span.setAttribute("scoring.found", false);
+                return ResponseEntity.notFound().build();
+            }
+            span.setAttribute("scoring.found", true);
+            span.setAttribute("scoring.rank", rank.getRank());
+            return ResponseEntity.ok(rank);
+        } catch (Exception e) {
+            span.setAttribute("scoring.error", true);
+            throw e;
+        }
+    }
 
     @PostMapping("/game-result")
     public ResponseEntity<GameResult> recordGameResult(
-            @Valid @RequestBody GameResultRequest request,
-            HttpServletRequest httpRequest) {
-        logger.info("Received game result record request: username={}, game={}, action={}, betAmount={}, payout={}, win={}", 
+            @Valid @RequestBody GameResultRequest request) {
+        logger.debug("Received game result record request: username={}, game={}, action={}, betAmount={}, payout={}, win={}", 
                 request.getUsername(), request.getGame(), request.getAction(), 
                 request.getBetAmount(), request.getPayout(), request.getWin());
         
@@ -156,31 +221,28 @@ public class ScoringController {
             return ResponseEntity.badRequest().build();
         }
         
-        // Extract trace context from HTTP headers
-        Context parentContext = GlobalOpenTelemetry.getPropagators()
-                .getTextMapPropagator()
-                .extract(Context.current(), httpRequest, new TextMapGetter<HttpServletRequest>() {
-                    @Override
-                    public Iterable<String> keys(HttpServletRequest carrier) {
-                        return java.util.Collections.list(carrier.getHeaderNames());
-                    }
-
-                    @Override
-                    public String get(HttpServletRequest carrier, String key) {
-                        return carrier.getHeader(key);
-                    }
-                });
-        
-        Span span = tracer.spanBuilder("scoring.record_game_result")
-                .setParent(parentContext)
-                .setSpanKind(SpanKind.SERVER)
+        Span span = Span.current()
                 .setAttribute("scoring.username", request.getUsername())
                 .setAttribute("scoring.game", request.getGame())
                 .setAttribute("scoring.action", request.getAction())
-                .setAttribute("scoring.win", request.getWin())
-                .startSpan();
+                .setAttribute("scoring.win", request.getWin());
+
+        try {
+            if (ingestQueue.isEnabled()) {
+                // Write-behind mode: acknowledge once queued, persistence happens in the background writer
+                GameResult queued = toGameResult(request);
+                if (!ingestQueue.offer(queued)) {
+                    logger.warn("Ingest queue full, rejecting game result: username={}, game={}, action={}",
+                            request.getUsername(), request.getGame(), request.getAction());
+                    span.setAttribute("scoring.rejected", true);
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .build();
+                }
+                span.setAttribute("scoring.queued", true);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(queued);
+            }
 
-        try (Scope scope = span.makeCurrent()) {
             GameResult result = scoringService.recordGameResult(
                     request.getUsername(),
                     request.getGame(),
@@ -193,83 +255,84 @@ public class ScoringController {
                     request.getMetadata()
             );
 
-            logger.info("Successfully processed game result record request: id={}, username={}, game={}, action={}, win={}", 
+            logger.debug("Successfully processed game result record request: id={}, username={}, game={}, action={}, win={}", 
                     result.getId(), result.getUsername(), result.getGame(), result.getAction(), result.getWin());
             
             span.setAttribute("scoring.recorded", true);
             return ResponseEntity.status(HttpStatus.CREATED).body(result);
         } catch (Exception e) {
-            span.recordException(e);
             span.setAttribute("scoring.error", true);
             throw e;
-        } finally {
-            span.end();
+        }
+    }
+
+    @PostMapping("/game-results/batch")
+    public ResponseEntity<GameResultBatchResponse> recordGameResults(
+            @RequestBody List<GameResultRequest> requests) {
+        logger.info("Received game result batch request: size={}", requests.size());
+
+        if (requests.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (requests.size() > batchMaxSize) {
+            logger.warn("Rejecting game result batch larger than limit: size={}, limit={}", requests.size(), batchMaxSize);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        Span span = Span.current()
+                .setAttribute("scoring.batch_size", requests.size());
+
+        try {
+            // Same rules as the single-result endpoint; invalid entries are skipped instead of failing the batch
+            List<GameResult> results = new ArrayList<>(requests.size());
+            for (GameResultRequest request : requests) {
+                if (request == null || !validator.validate(request).isEmpty()
+                        || request.getBetAmount() <= 0) {
+                    continue;
+                }
+                results.add(toGameResult(request));
+            }
+
+            int rejected = requests.size() - results.size();
+            if (rejected > 0) {
+                logger.warn("Skipping invalid entries in game result batch: size={}, rejected={}", requests.size(), rejected);
+            }
+
+            int recorded = results.isEmpty() ? 0 : scoringService.recordGameResults(results);
+
+            span.setAttribute("scoring.recorded_count", recorded);
+            span.setAttribute("scoring.rejected_count", rejected);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new GameResultBatchResponse(requests.size(), recorded, rejected));
+        } catch (Exception e) {
+            span.setAttribute("scoring.error", true);
+            throw e;
         }
     }
 
     @GetMapping("/dashboard/{game}")
     public ResponseEntity<DashboardStats> getDashboardStats(
-            @PathVariable String game,
-            HttpServletRequest httpRequest) {
-        // Extract trace context from HTTP headers
-        Context parentContext = GlobalOpenTelemetry.getPropagators()
-                .getTextMapPropagator()
-                .extract(Context.current(), httpRequest, new TextMapGetter<HttpServletRequest>() {
-                    @Override
-                    public Iterable<String> keys(HttpServletRequest carrier) {
-                        return java.util.Collections.list(carrier.getHeaderNames());
-                    }
+            @PathVariable String game) {
+        Span span = Span.current()
+                .setAttribute("scoring.game", game);
 
-                    @Override
-                    public String get(HttpServletRequest carrier, String key) {
-                        return carrier.getHeader(key);
-                    }
-                });
-        
-        Span span = tracer.spanBuilder("scoring.dashboard")
-                .setParent(parentContext)
-                .setSpanKind(SpanKind.SERVER)
-                .setAttribute("scoring.game", game)
-                .startSpan();
-
-        try (Scope scope = span.makeCurrent()) {
+        try {
             DashboardStats stats = scoringService.getDashboardStats(game);
             span.setAttribute("scoring.stats.total_games", stats.getTotalGames());
             span.setAttribute("scoring.stats.top_players_count", 
                     stats.getTopPlayers() != null ? stats.getTopPlayers().size() : 0);
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
-            span.recordException(e);
             span.setAttribute("scoring.error", true);
             throw e;
-        } finally {
-            span.end();
         }
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<List<DashboardStats>> getAllDashboardStats(HttpServletRequest httpRequest) {
-        // Extract trace context from HTTP headers
-        Context parentContext = GlobalOpenTelemetry.getPropagators()
-                .getTextMapPropagator()
-                .extract(Context.current(), httpRequest, new TextMapGetter<HttpServletRequest>() {
-                    @Override
-                    public Iterable<String> keys(HttpServletRequest carrier) {
-                        return java.util.Collections.list(carrier.getHeaderNames());
-                    }
-
-                    @Override
-                    public String get(HttpServletRequest carrier, String key) {
-                        return carrier.getHeader(key);
-                    }
-                });
-        
-        Span span = tracer.spanBuilder("scoring.dashboard.all")
-                .setParent(parentContext)
-                .setSpanKind(SpanKind.SERVER)
-                .startSpan();
+    public ResponseEntity<List<DashboardStats>> getAllDashboardStats() {
+        Span span = Span.current();
 
-        try (Scope scope = span.makeCurrent()) {
+        try {
             List<DashboardStats> stats = scoringService.getAllGamesDashboardStats();
             span.setAttribute("scoring.stats.count", stats.size());
             return ResponseEntity.ok(stats);
@@ -280,8 +343,72 @@ public class ScoringController {
             span.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
             // Return empty list instead of throwing to prevent 500 error
             return ResponseEntity.ok(new java.util.ArrayList<>());
-        } finally {
-            span.end();
+        }
+    }
+
+    // Trend buckets for charts: step is a duration such as 5m, 1h or 1d (whole minutes)
+    @GetMapping("/timeseries/{game}")
+    public ResponseEntity<TimeseriesResponse> getTimeseries(
+            @PathVariable String game,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1h") String step) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        Duration stepDuration;
+        try {
+            stepDuration = DurationStyle.detectAndParse(step);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (stepDuration.getSeconds() < 60 || stepDuration.getSeconds() % 60 != 0 || !start.isBefore(end)
+                || Duration.between(start, end).getSeconds() / stepDuration.getSeconds() > MAX_TIMESERIES_POINTS) {
+            logger.warn("Rejecting timeseries request: game={}, from={}, to={}, step={}", game, start, end, step);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Span span = Span.current()
+                .setAttribute("scoring.game", game)
+                .setAttribute("scoring.step_seconds", stepDuration.getSeconds());
+
+        try {
+            TimeseriesResponse timeseries = scoringService.getTimeseries(game, start, end, stepDuration);
+            span.setAttribute("scoring.results_count", timeseries.getPoints().size());
+            return ResponseEntity.ok(timeseries);
+        } catch (Exception e) {
+            span.setAttribute("scoring.error", true);
+            throw e;
+        }
+    }
+
+    // Top spenders and top winners of a game in one of the configured windows (scoring.heavy-hitters.windows)
+    @GetMapping("/heavy-hitters/{game}")
+    public ResponseEntity<HeavyHittersResponse> getHeavyHitters(
+            @PathVariable String game,
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        Duration windowDuration;
+        try {
+            windowDuration = DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Span span = Span.current()
+                .setAttribute("scoring.game", game)
+                .setAttribute("scoring.window", window);
+
+        try {
+            HeavyHittersResponse heavyHitters = heavyHitterAggregator.heavyHitters(game, windowDuration,
+                    Math.max(1, Math.min(limit, MAX_HEAVY_HITTERS)));
+            if (heavyHitters == null) {
+                logger.warn("Rejecting heavy hitters request, window not tracked: game={}, window={}", game, window);
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(heavyHitters);
+        } catch (Exception e) {
+            span.setAttribute("scoring.error", true);
+            throw e;
         }
     }
 
@@ -290,24 +417,142 @@ public class ScoringController {
             @PathVariable String game,
             @RequestParam(defaultValue = "50") int limit) {
         
-        Span span = tracer.spanBuilder("scoring.game_results")
+        Span span = Span.current()
                 .setAttribute("scoring.game", game)
-                .setAttribute("scoring.limit", limit)
-                .startSpan();
+                .setAttribute("scoring.limit", limit);
 
-        try (Scope scope = span.makeCurrent()) {
+        try {
             List<GameResult> results = scoringService.getRecentGameResults(game, limit);
             span.setAttribute("scoring.results_count", results.size());
             return ResponseEntity.ok(results);
         } catch (Exception e) {
-            span.recordException(e);
             span.setAttribute("scoring.error", true);
             throw e;
-        } finally {
-            span.end();
         }
     }
 
+    // Keyset-paginated history: filter by game, username and/or [from, to); follow "next" for older rows
+    @GetMapping("/history")
+    public ResponseEntity<GameResultPage> getGameResultHistory(
+            @RequestParam(required = false) String game,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        Span span = Span.current()
+                .setAttribute("scoring.game", game != null ? game : "")
+                .setAttribute("scoring.size", size);
+
+        try {
+            int boundedSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+            GameResultPage page = scoringService.getGameResultHistory(game, username, from, to, cursor, boundedSize);
+            span.setAttribute("scoring.results_count", page.getSize());
+            span.setAttribute("scoring.has_next", page.getNext() != null);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejecting history request with invalid cursor: cursor={}", cursor);
+            span.setAttribute("scoring.error", true);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            span.setAttribute("scoring.error", true);
+            throw e;
+        }
+    }
+
+    // Streams game results (oldest first) as NDJSON or CSV, gzip-compressed when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportGameResults(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String game,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        GameResultExporter.Format exportFormat;
+        try {
+            exportFormat = GameResultExporter.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        logger.info("Starting game result export: format={}, game={}, username={}, from={}, to={}, gzip={}",
+                exportFormat, game, username, from, to, gzip);
+
+        // Rows are written on an async request thread; carry the caller's trace context over
+        Context context = Context.current();
+        StreamingResponseBody body = outputStream -> {
+            try (Scope scope = context.makeCurrent()) {
+                if (gzip) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                    gameResultExporter.export(exportFormat, game, username, from, to, gzipStream);
+                    gzipStream.finish();
+                } else {
+                    gameResultExporter.export(exportFormat, game, username, from, to, outputStream);
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"game_results." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // Accept-Encoding lists codings with optional q-values; q=0 means "not acceptable". An explicit gzip (or x-gzip)
+    // entry decides, otherwise a "*" entry does.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    private GameResult toGameResult(GameResultRequest request) {
+        GameResult result = new GameResult(
+                request.getUsername(),
+                request.getGame(),
+                request.getAction(),
+                request.getBetAmount(),
+                request.getPayout(),
+                request.getWin()
+        );
+        result.setResult(request.getResult());
+        result.setGameData(request.getGameData());
+        result.setMetadata(request.getMetadata());
+        return result;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("OK");
@@ -1,6 +1,7 @@
 package com.vegas.scoring.dto;
 
 import java.util.List;
+import java.util.Map;
 
 public class DashboardStats {
     private String game;
@@ -13,8 +14,15 @@ public class DashboardStats {
     private Double netRevenue; // totalBetAmount - totalPayout
     private Double averageBetAmount;
     private Double averagePayout;
+    private Map<String, Double> betAmountPercentiles; // {"p50": .., "p90": .., "p99": .., "p999": ..}, 1% relative error
+    private Map<String, Double> payoutPercentiles;
+    private Map<String, Double> netWinPercentiles; // payout - betAmount per game played
     private Long recentGames; // Last 24 hours
+    private Map<String, Long> recentGamesByWindow; // Configured windows, e.g. {"1h": .., "24h": .., "7d": ..}
+    private Long uniquePlayers; // Distinct players in the last 24 hours (estimate, about 1% error)
+    private Map<String, Long> uniquePlayersByWindow; // Same windows as recentGamesByWindow
     private List<ScoreResponse> topPlayers; // Top 10 players for this game
+    private Boolean stale; // True when the last known stats were served because a fresh computation timed out or failed
 
     public DashboardStats() {}
 
@@ -99,6 +107,30 @@ public class DashboardStats {
         this.averagePayout = averagePayout;
     }
 
+    public Map<String, Double> getBetAmountPercentiles() {
+        return betAmountPercentiles;
+    }
+
+    public void setBetAmountPercentiles(Map<String, Double> betAmountPercentiles) {
+        this.betAmountPercentiles = betAmountPercentiles;
+    }
+
+    public Map<String, Double> getPayoutPercentiles() {
+        return payoutPercentiles;
+    }
+
+    public void setPayoutPercentiles(Map<String, Double> payoutPercentiles) {
+        this.payoutPercentiles = payoutPercentiles;
+    }
+
+    public Map<String, Double> getNetWinPercentiles() {
+        return netWinPercentiles;
+    }
+
+    public void setNetWinPercentiles(Map<String, Double> netWinPercentiles) {
+        this.netWinPercentiles = netWinPercentiles;
+    }
+
     public Long getRecentGames() {
         return recentGames;
     }
@@ -107,6 +139,30 @@ public class DashboardStats {
         this.recentGames = recentGames;
     }
 
+    public Map<String, Long> getRecentGamesByWindow() {
+        return recentGamesByWindow;
+    }
+
+    public void setRecentGamesByWindow(Map<String, Long> recentGamesByWindow) {
+        this.recentGamesByWindow = recentGamesByWindow;
+    }
+
+    public Long getUniquePlayers() {
+        return uniquePlayers;
+    }
+
+    public void setUniquePlayers(Long uniquePlayers) {
+        this.uniquePlayers = uniquePlayers;
+    }
+
+    public Map<String, Long> getUniquePlayersByWindow() {
+        return uniquePlayersByWindow;
+    }
+
+    public void setUniquePlayersByWindow(Map<String, Long> uniquePlayersByWindow) {
+        this.uniquePlayersByWindow = uniquePlayersByWindow;
+    }
+
     public List<ScoreResponse> getTopPlayers() {
         return topPlayers;
     }
@@ -114,5 +170,12 @@ public class DashboardStats {
     public void setTopPlayers(List<ScoreResponse> topPlayers) {
         this.topPlayers = topPlayers;
     }
-}
 
+    public Boolean getStale() {
+        return stale;
+    }
+
+    public void setStale(Boolean stale) {
+        this.stale = stale;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vegas.scoring.dto;
+
+public class GameResultBatchResponse {
+    private Integer received;  // Number of results in the request
+    private Integer recorded;  // Number of results persisted
+    private Integer rejected;  // Number of results skipped because they failed validation
+
+    public GameResultBatchResponse() {}
+
+    public GameResultBatchResponse(Integer received, Integer recorded, Integer rejected) {
+        this.received = received;
+        this.recorded = recorded;
+        this.rejected = rejected;
+    }
+
+    // Getters and Setters
+    public Integer getReceived() {
+        return received;
+    }
+
+    public void setReceived(Integer received) {
+        this.received = received;
+    }
+
+    public Integer getRecorded() {
+        return recorded;
+    }
+
+    public void setRecorded(Integer recorded) {
+        this.recorded = recorded;
+    }
+
+    public Integer getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Integer rejected) {
+        this.rejected = rejected;
+    }
+}
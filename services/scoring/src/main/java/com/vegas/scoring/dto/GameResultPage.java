@@ -0,0 +1,44 @@
+package com.vegas.scoring.dto;
+
+import com.vegas.scoring.model.GameResult;
+
+import java.util.List;
+
+public class GameResultPage {
+    private List<GameResult> items; // Newest first
+    private String next;            // Opaque cursor for the following page; null on the last page
+    private Integer size;           // Number of items in this page
+
+    public GameResultPage() {}
+
+    public GameResultPage(List<GameResult> items, String next) {
+        this.items = items;
+        this.next = next;
+        this.size = items.size();
+    }
+
+    // Getters and Setters
+    public List<GameResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<GameResult> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vegas.scoring.dto;
+
+public class HeavyHitter {
+    private String username;
+    private Double amount;          // Estimated total in the window; may overestimate by up to maxOverestimate
+    private Double maxOverestimate; // amount - maxOverestimate is a guaranteed lower bound
+
+    public HeavyHitter() {}
+
+    public HeavyHitter(String username, Double amount, Double maxOverestimate) {
+        this.username = username;
+        this.amount = amount;
+        this.maxOverestimate = maxOverestimate;
+    }
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Double amount) {
+        this.amount = amount;
+    }
+
+    public Double getMaxOverestimate() {
+        return maxOverestimate;
+    }
+
+    public void setMaxOverestimate(Double maxOverestimate) {
+        this.maxOverestimate = maxOverestimate;
+    }
+}
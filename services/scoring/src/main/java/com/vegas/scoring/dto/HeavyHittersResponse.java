@@ -0,0 +1,63 @@
+package com.vegas.scoring.dto;
+
+import java.util.List;
+
+public class HeavyHittersResponse {
+    private String game;
+    private String window;              // Requested window, e.g. "1h"
+    private Long windowSeconds;
+    private List<HeavyHitter> topSpenders; // By total bet amount, heaviest first
+    private List<HeavyHitter> topWinners;  // By total winnings (payout - bet of winning games), heaviest first
+
+    public HeavyHittersResponse() {}
+
+    public HeavyHittersResponse(String game, String window, Long windowSeconds,
+                                List<HeavyHitter> topSpenders, List<HeavyHitter> topWinners) {
+        this.game = game;
+        this.window = window;
+        this.windowSeconds = windowSeconds;
+        this.topSpenders = topSpenders;
+        this.topWinners = topWinners;
+    }
+
+    // Getters and Setters
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public String getWindow() {
+        return window;
+    }
+
+    public void setWindow(String window) {
+        this.window = window;
+    }
+
+    public Long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(Long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public List<HeavyHitter> getTopSpenders() {
+        return topSpenders;
+    }
+
+    public void setTopSpenders(List<HeavyHitter> topSpenders) {
+        this.topSpenders = topSpenders;
+    }
+
+    public List<HeavyHitter> getTopWinners() {
+        return topWinners;
+    }
+
+    public void setTopWinners(List<HeavyHitter> topWinners) {
+        this.topWinners = topWinners;
+    }
+}
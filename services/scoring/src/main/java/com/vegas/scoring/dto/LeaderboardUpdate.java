@@ -0,0 +1,52 @@
+package com.vegas.scoring.dto;
+
+import java.util.List;
+
+public class LeaderboardUpdate {
+    private String game;
+    private Boolean full;                // True when entries is the whole leaderboard rather than a delta
+    private List<ScoreResponse> entries; // New entries and entries whose rank or score changed
+    private List<String> removed;        // Usernames that dropped out of the leaderboard
+
+    public LeaderboardUpdate() {}
+
+    public LeaderboardUpdate(String game, Boolean full, List<ScoreResponse> entries, List<String> removed) {
+        this.game = game;
+        this.full = full;
+        this.entries = entries;
+        this.removed = removed;
+    }
+
+    // Getters and Setters
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public Boolean getFull() {
+        return full;
+    }
+
+    public void setFull(Boolean full) {
+        this.full = full;
+    }
+
+    public List<ScoreResponse> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<ScoreResponse> entries) {
+        this.entries = entries;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<String> removed) {
+        this.removed = removed;
+    }
+}
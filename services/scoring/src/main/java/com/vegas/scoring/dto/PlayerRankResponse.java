@@ -0,0 +1,81 @@
+package com.vegas.scoring.dto;
+
+import java.util.List;
+
+public class PlayerRankResponse {
+    private String username;
+    private String game;
+    private Long rank;                // 1-based position on the leaderboard
+    private Double score;
+    private Long totalPlayers;
+    private Double percentile;        // Share of players at or below this position (100 = top)
+    private List<ScoreResponse> above; // Up to K players ranked directly above, best first
+    private List<ScoreResponse> below; // Up to K players ranked directly below, best first
+
+    public PlayerRankResponse() {}
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public Long getRank() {
+        return rank;
+    }
+
+    public void setRank(Long rank) {
+        this.rank = rank;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Long getTotalPlayers() {
+        return totalPlayers;
+    }
+
+    public void setTotalPlayers(Long totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+
+    public List<ScoreResponse> getAbove() {
+        return above;
+    }
+
+    public void setAbove(List<ScoreResponse> above) {
+        this.above = above;
+    }
+
+    public List<ScoreResponse> getBelow() {
+        return below;
+    }
+
+    public void setBelow(List<ScoreResponse> below) {
+        this.below = below;
+    }
+}
@@ -0,0 +1,72 @@
+package com.vegas.scoring.dto;
+
+import java.time.LocalDateTime;
+
+public class TimeseriesPoint {
+    private LocalDateTime bucketStart;
+    private Long games;
+    private Long wins;
+    private Double betAmount;
+    private Double payout;
+    private Long activePlayers; // Distinct players in this point (HyperLogLog estimate, about 1% error)
+
+    public TimeseriesPoint() {}
+
+    public TimeseriesPoint(LocalDateTime bucketStart, Long games, Long wins, Double betAmount, Double payout, Long activePlayers) {
+        this.bucketStart = bucketStart;
+        this.games = games;
+        this.wins = wins;
+        this.betAmount = betAmount;
+        this.payout = payout;
+        this.activePlayers = activePlayers;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getGames() {
+        return games;
+    }
+
+    public void setGames(Long games) {
+        this.games = games;
+    }
+
+    public Long getWins() {
+        return wins;
+    }
+
+    public void setWins(Long wins) {
+        this.wins = wins;
+    }
+
+    public Double getBetAmount() {
+        return betAmount;
+    }
+
+    public void setBetAmount(Double betAmount) {
+        this.betAmount = betAmount;
+    }
+
+    public Double getPayout() {
+        return payout;
+    }
+
+    public void setPayout(Double payout) {
+        this.payout = payout;
+    }
+
+    public Long getActivePlayers() {
+        return activePlayers;
+    }
+
+    public void setActivePlayers(Long activePlayers) {
+        this.activePlayers = activePlayers;
+    }
+}
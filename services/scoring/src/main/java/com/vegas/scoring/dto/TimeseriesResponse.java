@@ -0,0 +1,52 @@
+package com.vegas.scoring.dto;
+
+import java.util.List;
+
+public class TimeseriesResponse {
+    private String game;
+    private String resolution;         // Stored bucket size the points were built from: minute, hour or day
+    private Long stepSeconds;          // Width of each point
+    private List<TimeseriesPoint> points; // Oldest first; steps without activity are omitted
+
+    public TimeseriesResponse() {}
+
+    public TimeseriesResponse(String game, String resolution, Long stepSeconds, List<TimeseriesPoint> points) {
+        this.game = game;
+        this.resolution = resolution;
+        this.stepSeconds = stepSeconds;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public String getGame() {
+        return game;
+    }
+
+    public void setGame(String game) {
+        this.game = game;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public Long getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public void setStepSeconds(Long stepSeconds) {
+        this.stepSeconds = stepSeconds;
+    }
+
+    public List<TimeseriesPoint> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<TimeseriesPoint> points) {
+        this.points = points;
+    }
+}
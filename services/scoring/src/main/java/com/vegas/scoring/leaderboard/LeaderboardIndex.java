@@ -0,0 +1,216 @@
+package com.vegas.scoring.leaderboard;
+
+import com.vegas.scoring.model.PlayerScore;
+import com.vegas.scoring.repository.PlayerScoreJdbcRepository;
+import com.vegas.scoring.service.TrackedGames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// In-memory ranked view of player_scores: one board per game plus an "all" board holding
+// each player's best score across games. Top-N and rank lookups are O(log n) with no DB hit.
+// Warmed from a full player_scores scan on startup, then re-merged periodically from the rows touched since the
+// last refresh to pick up writes from other replicas; local writes are applied by ScoringService after commit.
+// Only tracked games get a board of their own (see TrackedGames); every score still counts on the "all" board.
+@Component
+public class LeaderboardIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    public static final String ALL_GAMES = "all";
+
+    // Highest score first; username breaks ties so every entry has a unique position
+    private static final Comparator<PlayerScore> RANKING =
+            Comparator.comparing(PlayerScore::getScore, Comparator.reverseOrder())
+                    .thenComparing(PlayerScore::getUsername);
+
+    private static final class Board {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<String, PlayerScore> byUsername = new HashMap<>();
+        final OrderStatisticTree<PlayerScore> ranked = new OrderStatisticTree<>(RANKING);
+    }
+
+    // A player's position on one board, with the neighbouring entries around it
+    public static final class Position {
+        private final PlayerScore entry;
+        private final long rank;
+        private final long total;
+        private final List<PlayerScore> above;
+        private final List<PlayerScore> below;
+
+        Position(PlayerScore entry, long rank, long total, List<PlayerScore> above, List<PlayerScore> below) {
+            this.entry = entry;
+            this.rank = rank;
+            this.total = total;
+            this.above = above;
+            this.below = below;
+        }
+
+        public PlayerScore getEntry() {
+            return entry;
+        }
+
+        public long getRank() {
+            return rank;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<PlayerScore> getAbove() {
+            return above;
+        }
+
+        public List<PlayerScore> getBelow() {
+            return below;
+        }
+    }
+
+    @Autowired
+    private PlayerScoreJdbcRepository playerScoreJdbcRepository;
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    @Value("${scoring.leaderboard.index.enabled:true}")
+    private boolean enabled;
+
+    // Incremental refreshes re-read this much before the newest timestamp seen, to catch rows that committed
+    // late or were stamped by a replica with a slower clock; re-reading a row is a no-op
+    @Value("${scoring.leaderboard.index.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    private final ConcurrentMap<String, Board> boards = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    // Newest player_scores.timestamp read by a refresh; only the scheduler thread touches it
+    private LocalDateTime lastSeen;
+
+    // False until the first warm-up has completed; callers fall back to the database meanwhile
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    // Whether top/position can answer for this board; untracked games are served from the database
+    public boolean isReady(String game) {
+        return isReady() && (ALL_GAMES.equals(game) || trackedGames.isTracked(game));
+    }
+
+    // Scores only ever increase (best payout), so an offer replaces the entry only when it is higher
+    public void offer(PlayerScore score) {
+        if (!enabled) {
+            return;
+        }
+        if (trackedGames.track(score.getGame())) {
+            offer(boards.computeIfAbsent(score.getGame(), game -> new Board()), score);
+        }
+        offer(boards.computeIfAbsent(ALL_GAMES, game -> new Board()), score);
+    }
+
+    public List<PlayerScore> top(String game, int limit) {
+        Board board = boards.get(game);
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        board.lock.readLock().lock();
+        try {
+            return board.ranked.slice(0, limit);
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    // O(log n + k): rank via subtree sizes, neighbours via in-order slices. Null when the player is not on the board.
+    public Position position(String game, String username, int neighbours) {
+        Board board = boards.get(game);
+        if (board == null) {
+            return null;
+        }
+        board.lock.readLock().lock();
+        try {
+            PlayerScore entry = board.byUsername.get(username);
+            if (entry == null) {
+                return null;
+            }
+            int index = board.ranked.countBefore(entry);
+            int from = Math.max(0, index - neighbours);
+            List<PlayerScore> above = board.ranked.slice(from, index - from);
+            List<PlayerScore> below = board.ranked.slice(index + 1, neighbours);
+            return new Position(entry, index + 1, board.ranked.size(), above, below);
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scoring.leaderboard.index.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long[] rows = new long[1];
+        LocalDateTime[] newest = {lastSeen};
+        Consumer<PlayerScore> merge = score -> {
+            offer(score);
+            rows[0]++;
+            if (newest[0] == null || score.getTimestamp().isAfter(newest[0])) {
+                newest[0] = score.getTimestamp();
+            }
+        };
+        try {
+            if (!ready) {
+                // Warm-up: the only full scan
+                playerScoreJdbcRepository.forEachPlayerScore(merge);
+                lastSeen = newest[0];
+                ready = true;
+                logger.info("Leaderboard index warmed: rows={}, boards={}, durationMs={}",
+                        rows[0], boards.size(), System.currentTimeMillis() - start);
+            } else if (lastSeen == null) {
+                // Table was empty at warm-up
+                playerScoreJdbcRepository.forEachPlayerScore(merge);
+                lastSeen = newest[0];
+            } else {
+                playerScoreJdbcRepository.forEachPlayerScoreSince(
+                        lastSeen.minus(Duration.ofMillis(refreshOverlapMs)), merge);
+                lastSeen = newest[0];
+                logger.debug("Leaderboard index refreshed: rows={}, durationMs={}",
+                        rows[0], System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to refresh leaderboard index", e);
+        }
+    }
+
+    private void offer(Board board, PlayerScore score) {
+        board.lock.writeLock().lock();
+        try {
+            PlayerScore current = board.byUsername.get(score.getUsername());
+            if (current != null) {
+                if (current.getScore() >= score.getScore()) {
+                    return;
+                }
+                board.ranked.remove(current);
+            }
+            board.byUsername.put(score.getUsername(), score);
+            board.ranked.insert(score);
+        } finally {
+            board.lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.vegas.scoring.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Treap augmented with subtree sizes: expected O(log n) insert, remove, rank and select.
+// Elements must be unique under the comparator. Not thread-safe; callers guard it with a lock.
+class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        final T value;
+        final int priority;
+        int size = 1;
+        Node<T> left;
+        Node<T> right;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private static final class Split<T> {
+        final Node<T> left;
+        final Node<T> right;
+
+        Split(Node<T> left, Node<T> right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<T> root;
+
+    OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(T value) {
+        Split<T> parts = split(root, value, false);
+        root = merge(merge(parts.left, new Node<>(value, random.nextInt())), parts.right);
+    }
+
+    boolean remove(T value) {
+        Split<T> lower = split(root, value, false);        // < value | >= value
+        Split<T> upper = split(lower.right, value, true);  // == value | > value
+        root = merge(lower.left, upper.right);
+        return upper.left != null;
+    }
+
+    // Number of elements ordered strictly before value (0-based rank)
+    int countBefore(T value) {
+        int count = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(node.value, value) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    // Element at 0-based position index, or null when out of range
+    T select(int index) {
+        Node<T> node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // Up to count elements in order, starting at 0-based position from
+    List<T> slice(int from, int count) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        if (count <= 0 || from < 0) {
+            return result;
+        }
+
+        // Descend to the starting element, remembering ancestors that come after it
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> node = root;
+        int index = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (index == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        // Continue as an in-order traversal
+        while (!stack.isEmpty() && result.size() < count) {
+            Node<T> current = stack.pop();
+            result.add(current.value);
+            Node<T> child = current.right;
+            while (child != null) {
+                stack.push(child);
+                child = child.left;
+            }
+        }
+        return result;
+    }
+
+    private Split<T> split(Node<T> node, T key, boolean inclusive) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        int cmp = comparator.compare(node.value, key);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Split<T> parts = split(node.right, key, inclusive);
+            node.right = parts.left;
+            update(node);
+            return new Split<>(node, parts.right);
+        }
+        Split<T> parts = split(node.left, key, inclusive);
+        node.left = parts.right;
+        update(node);
+        return new Split<>(parts.left, node);
+    }
+
+    // All elements of a must order before all elements of b
+    private Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static <T> int size(Node<T> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
@@ -0,0 +1,78 @@
+package com.vegas.scoring.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Hikari pool gauges: connections in use and idle, the pool maximum, and threads waiting for a connection.
+// Read from the pool MXBean at export time, so there is no cost on the request path.
+@Component
+public class ConnectionPoolMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolMetrics.class);
+
+    private static final AttributeKey<String> POOL_NAME = AttributeKey.stringKey("db.client.connections.pool.name");
+    private static final AttributeKey<String> STATE = AttributeKey.stringKey("db.client.connections.state");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    @PostConstruct
+    public void init() {
+        HikariDataSource hikari;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                logger.info("DataSource is not a Hikari pool; connection pool metrics disabled");
+                return;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            logger.warn("Could not unwrap DataSource; connection pool metrics disabled", e);
+            return;
+        }
+
+        Attributes pool = Attributes.of(POOL_NAME, String.valueOf(hikari.getPoolName()));
+        Attributes used = pool.toBuilder().put(STATE, "used").build();
+        Attributes idle = pool.toBuilder().put(STATE, "idle").build();
+
+        meter.upDownCounterBuilder("db.client.connections.usage")
+                .setDescription("Connections in the pool, by state")
+                .setUnit("{connection}")
+                .buildWithCallback(measurement -> {
+                    // Null until the pool has started (Hikari starts lazily on first getConnection)
+                    HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+                    if (mxBean != null) {
+                        measurement.record(mxBean.getActiveConnections(), used);
+                        measurement.record(mxBean.getIdleConnections(), idle);
+                    }
+                });
+        meter.upDownCounterBuilder("db.client.connections.max")
+                .setDescription("Maximum number of connections the pool allows")
+                .setUnit("{connection}")
+                .buildWithCallback(measurement -> measurement.record(hikari.getMaximumPoolSize(), pool));
+        meter.upDownCounterBuilder("db.client.connections.pending_requests")
+                .setDescription("Threads waiting for a connection")
+                .setUnit("{request}")
+                .buildWithCallback(measurement -> {
+                    HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+                    if (mxBean != null) {
+                        measurement.record(mxBean.getThreadsAwaitingConnection(), pool);
+                    }
+                });
+    }
+}
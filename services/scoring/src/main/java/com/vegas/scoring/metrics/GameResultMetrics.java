@@ -0,0 +1,117 @@
+package com.vegas.scoring.metrics;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.service.GameResultListener;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleCounter;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Ingest throughput per game, action and outcome, plus wagered and paid-out amounts per game.
+// Game and action are client-supplied, so the number of distinct combinations is capped: once
+// max-series is reached, new combinations are counted under game=other/action=other.
+// The username is never an attribute.
+@Component
+public class GameResultMetrics implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameResultMetrics.class);
+
+    private static final AttributeKey<String> GAME = AttributeKey.stringKey("game");
+    private static final AttributeKey<String> ACTION = AttributeKey.stringKey("action");
+    private static final AttributeKey<Boolean> WIN = AttributeKey.booleanKey("win");
+
+    private static final String OTHER = "other";
+    private static final String NONE = "none";
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    @Value("${scoring.metrics.max-series:200}")
+    private int maxSeries;
+
+    private LongCounter resultCounter;
+    private DoubleCounter betCounter;
+    private DoubleCounter payoutCounter;
+
+    // "game|action|win" -> attributes; also the cardinality budget
+    private final ConcurrentMap<String, Attributes> resultAttributes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Attributes> gameAttributes = new ConcurrentHashMap<>();
+    private volatile boolean overflowLogged;
+
+    @PostConstruct
+    public void init() {
+        resultCounter = meter.counterBuilder("scoring.game_results")
+                .setDescription("Game results recorded, by game, action and win")
+                .setUnit("{result}")
+                .build();
+        betCounter = meter.counterBuilder("scoring.game_results.bet_amount")
+                .ofDoubles()
+                .setDescription("Total amount wagered, by game")
+                .build();
+        payoutCounter = meter.counterBuilder("scoring.game_results.payout")
+                .ofDoubles()
+                .setDescription("Total amount paid out, by game")
+                .build();
+    }
+
+    @Override
+    public void onGameResult(GameResult result) {
+        String game = result.getGame() != null ? result.getGame() : NONE;
+        String action = result.getAction() != null ? result.getAction() : NONE;
+        boolean win = Boolean.TRUE.equals(result.getWin());
+
+        resultCounter.add(1, resultAttributes(game, action, win));
+        Attributes gameOnly = gameAttributes(game);
+        if (result.getBetAmount() != null && result.getBetAmount() > 0) {
+            betCounter.add(result.getBetAmount(), gameOnly);
+        }
+        if (result.getPayout() != null && result.getPayout() > 0) {
+            payoutCounter.add(result.getPayout(), gameOnly);
+        }
+    }
+
+    private Attributes resultAttributes(String game, String action, boolean win) {
+        String key = game + '|' + action + '|' + win;
+        Attributes attributes = resultAttributes.get(key);
+        if (attributes != null) {
+            return attributes;
+        }
+        if (resultAttributes.size() >= maxSeries) {
+            logOverflow();
+            return resultAttributes.computeIfAbsent(OTHER + '|' + OTHER + '|' + win,
+                    k -> Attributes.of(GAME, OTHER, ACTION, OTHER, WIN, win));
+        }
+        return resultAttributes.computeIfAbsent(key, k -> Attributes.of(GAME, game, ACTION, action, WIN, win));
+    }
+
+    private Attributes gameAttributes(String game) {
+        Attributes attributes = gameAttributes.get(game);
+        if (attributes != null) {
+            return attributes;
+        }
+        if (gameAttributes.size() >= maxSeries) {
+            return gameAttributes.computeIfAbsent(OTHER, k -> Attributes.of(GAME, OTHER));
+        }
+        return gameAttributes.computeIfAbsent(game, k -> Attributes.of(GAME, game));
+    }
+
+    private void logOverflow() {
+        if (!overflowLogged) {
+            overflowLogged = true;
+            logger.warn("More than {} game/action/win combinations; further ones are counted as game=other",
+                    maxSeries);
+        }
+    }
+}
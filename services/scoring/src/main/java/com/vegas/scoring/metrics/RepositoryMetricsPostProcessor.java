@@ -0,0 +1,111 @@
+package com.vegas.scoring.metrics;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Times every call into a repository bean (the Spring Data interfaces and the JDBC repositories) as
+// db.client.operation.duration, by repository and method. Arguments are never attributes.
+// Not Ordered, so it runs after the transaction and exception-translation proxies exist and can add
+// its interceptor to them (outermost) instead of proxying a proxy.
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final AttributeKey<String> DB_SYSTEM = AttributeKey.stringKey("db.system");
+    private static final AttributeKey<String> REPOSITORY = AttributeKey.stringKey("db.repository");
+    private static final AttributeKey<String> OPERATION = AttributeKey.stringKey("db.operation");
+    private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+
+    // Looked up on first use: a post-processor is created before the beans it would otherwise depend on
+    @Autowired
+    @Qualifier("meter")
+    private ObjectProvider<Meter> meterProvider;
+
+    private volatile DoubleHistogram duration;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (!isRepository(bean, targetClass)) {
+            return bean;
+        }
+        TimingInterceptor interceptor = new TimingInterceptor(beanName);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!targetClass.isInterface());
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+
+    private static boolean isRepository(Object bean, Class<?> targetClass) {
+        return bean instanceof org.springframework.data.repository.Repository
+                || AnnotationUtils.findAnnotation(targetClass, Repository.class) != null;
+    }
+
+    private DoubleHistogram duration() {
+        DoubleHistogram histogram = duration;
+        if (histogram == null) {
+            histogram = meterProvider.getObject().histogramBuilder("db.client.operation.duration")
+                    .setDescription("Duration of repository calls, including connection checkout and transaction")
+                    .setUnit("s")
+                    .build();
+            duration = histogram;
+        }
+        return histogram;
+    }
+
+    private final class TimingInterceptor implements MethodInterceptor {
+        private final String repository;
+        private final ConcurrentMap<Method, Attributes> attributes = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Method, ConcurrentMap<Class<?>, Attributes>> errorAttributes = new ConcurrentHashMap<>();
+
+        TimingInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                duration().record(seconds(start), attributes.computeIfAbsent(method,
+                        key -> Attributes.of(DB_SYSTEM, "postgresql", REPOSITORY, repository, OPERATION, key.getName())));
+                return result;
+            } catch (Throwable e) {
+                duration().record(seconds(start), errorAttributes
+                        .computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(e.getClass(), type -> Attributes.of(DB_SYSTEM, "postgresql",
+                                REPOSITORY, repository, OPERATION, method.getName(), ERROR_TYPE, type.getName())));
+                throw e;
+            }
+        }
+
+        private double seconds(long start) {
+            return (System.nanoTime() - start) / 1_000_000_000.0;
+        }
+    }
+}
@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Table(name = "game_results", indexes = {
     @Index(name = "idx_game_timestamp", columnList = "game, timestamp DESC"),
     @Index(name = "idx_username_timestamp", columnList = "username, timestamp DESC"),
-    @Index(name = "idx_game_result", columnList = "game, result")
+    @Index(name = "idx_game_result", columnList = "game, result"),
+    @Index(name = "idx_timestamp_id", columnList = "timestamp DESC, id DESC")
 })
 public class GameResult {
     @Id
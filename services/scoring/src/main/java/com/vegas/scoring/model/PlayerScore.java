@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "player_scores", indexes = {
     @Index(name = "idx_game_score", columnList = "game, score DESC"),
-    @Index(name = "idx_username_game", columnList = "username, game")
+    @Index(name = "idx_username_game", columnList = "username, game"),
+    @Index(name = "idx_score", columnList = "score DESC")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_player_scores_username_game", columnNames = {"username", "game"})
 })
 public class PlayerScore {
     @Id
@@ -31,6 +34,12 @@ public class PlayerScore {
     @Column
     private String metadata; // JSON string for additional data
 
+    @Column(name = "initial_bet")
+    private Double initialBet; // Bet of the best game
+
+    @Column
+    private Double winnings; // Payout of the best game
+
     // Constructors
     public PlayerScore() {
         this.timestamp = LocalDateTime.now();
@@ -100,12 +109,20 @@ public class PlayerScore {
     public void setMetadata(String metadata) {
         this.metadata = metadata;
     }
-}
-
-
-
-
 
+    public Double getInitialBet() {
+        return initialBet;
+    }
 
+    public void setInitialBet(Double initialBet) {
+        this.initialBet = initialBet;
+    }
 
+    public Double getWinnings() {
+        return winnings;
+    }
 
+    public void setWinnings(Double winnings) {
+        this.winnings = winnings;
+    }
+}
@@ -0,0 +1,211 @@
+package com.vegas.scoring.repository;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.model.PlayerScore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Plain JDBC access for the hot write paths where JPA's per-entity round-trips are too expensive
+// (IDENTITY ids prevent Hibernate from batching inserts), and for reads that need dynamic SQL
+@Repository
+public class GameResultJdbcRepository {
+
+    private static final String INSERT_GAME_RESULT_SQL =
+            "INSERT INTO game_results (username, game, action, bet_amount, payout, win, result, timestamp, game_data, metadata) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_GAME_RESULT_SQL =
+            "SELECT id, username, game, action, bet_amount, payout, win, result, timestamp, game_data, metadata " +
+            "FROM game_results";
+
+    // Keep the best payout per (username, game); always touch the timestamp to show recent activity
+    private static final String UPSERT_BEST_PAYOUT_SQL =
+            "INSERT INTO player_scores (username, role, game, score, timestamp, metadata, initial_bet, winnings) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (username, game) DO UPDATE SET " +
+            "metadata = CASE WHEN EXCLUDED.score > player_scores.score THEN EXCLUDED.metadata ELSE player_scores.metadata END, " +
+            "initial_bet = CASE WHEN EXCLUDED.score > player_scores.score THEN EXCLUDED.initial_bet ELSE player_scores.initial_bet END, " +
+            "winnings = CASE WHEN EXCLUDED.score > player_scores.score THEN EXCLUDED.winnings ELSE player_scores.winnings END, " +
+            "score = GREATEST(player_scores.score, EXCLUDED.score), " +
+            "timestamp = EXCLUDED.timestamp";
+
+    private static final String INSERT_DEAD_LETTER_SQL =
+            "INSERT INTO game_results_dead_letter (payload, error) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${scoring.jdbc.fetch-size:1000}")
+    private int fetchSize;
+
+    // Insert all results in JDBC batches; returns the number of rows written
+    public int batchInsertGameResults(List<GameResult> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_GAME_RESULT_SQL, results, results.size(), (ps, result) -> {
+            ps.setString(1, result.getUsername());
+            ps.setString(2, result.getGame());
+            ps.setString(3, result.getAction());
+            ps.setDouble(4, result.getBetAmount());
+            ps.setDouble(5, result.getPayout());
+            ps.setBoolean(6, result.getWin());
+            ps.setString(7, result.getResult());
+            ps.setTimestamp(8, Timestamp.valueOf(result.getTimestamp()));
+            ps.setString(9, result.getGameData());
+            ps.setString(10, result.getMetadata());
+        });
+        return results.size();
+    }
+
+    // Park a game result that cannot be inserted, as JSON, for later repair and replay
+    public void insertDeadLetter(String payload, String error) {
+        jdbcTemplate.update(INSERT_DEAD_LETTER_SQL, payload, error);
+    }
+
+    // Games recorded since each of the given instants, in one range scan over the widest window
+    // (idx_game_timestamp). Counts are returned in the same order as the instants.
+    public long[] countRecentByGame(String game, List<LocalDateTime> since) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        List<Object> args = new ArrayList<>(since.size() + 2);
+        LocalDateTime earliest = since.get(0);
+        for (int i = 0; i < since.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("COUNT(*) FILTER (WHERE timestamp >= ?)");
+            args.add(Timestamp.valueOf(since.get(i)));
+            if (since.get(i).isBefore(earliest)) {
+                earliest = since.get(i);
+            }
+        }
+        sql.append(" FROM game_results WHERE game = ? AND timestamp >= ? AND bet_amount > 0");
+        args.add(game);
+        args.add(Timestamp.valueOf(earliest));
+
+        return jdbcTemplate.queryForObject(sql.toString(), (rs, rowNum) -> {
+            long[] counts = new long[since.size()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = rs.getLong(i + 1);
+            }
+            return counts;
+        }, args.toArray());
+    }
+
+    // One page of history, newest first, strictly after the (timestamp, id) keyset position when given.
+    // Every filter is optional; the keyset predicate keeps the cost of a page independent of its depth.
+    public List<GameResult> findPage(String game, String username, LocalDateTime from, LocalDateTime to,
+                                     LocalDateTime afterTimestamp, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_GAME_RESULT_SQL);
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, game, username, from, to);
+        if (afterTimestamp != null) {
+            // Spelled out rather than (timestamp, id) < (?, ?) so the timestamp bound is usable by every index
+            sql.append(" AND timestamp <= ? AND (timestamp < ? OR id < ?)");
+            args.add(Timestamp.valueOf(afterTimestamp));
+            args.add(Timestamp.valueOf(afterTimestamp));
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    // Stream matching rows, oldest first, through the consumer without materialising the result.
+    // The read-only transaction disables autocommit so the driver can use a server-side cursor.
+    @Transactional(readOnly = true)
+    public long forEachGameResult(String game, String username, LocalDateTime from, LocalDateTime to,
+                                  Consumer<GameResult> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_GAME_RESULT_SQL);
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, game, username, from, to);
+        sql.append(" ORDER BY timestamp, id");
+
+        long[] rows = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            consumer.accept(mapRow(rs));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    // Shared WHERE clause for the history queries; null filters are left out
+    private static void appendFilters(StringBuilder sql, List<Object> args, String game, String username,
+                                      LocalDateTime from, LocalDateTime to) {
+        sql.append(" WHERE bet_amount > 0");
+        if (game != null) {
+            sql.append(" AND game = ?");
+            args.add(game);
+        }
+        if (username != null) {
+            sql.append(" AND username = ?");
+            args.add(username);
+        }
+        if (from != null) {
+            sql.append(" AND timestamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND timestamp < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+    }
+
+    static GameResult mapRow(ResultSet rs) throws SQLException {
+        GameResult result = new GameResult(
+                rs.getString("username"),
+                rs.getString("game"),
+                rs.getString("action"),
+                rs.getDouble("bet_amount"),
+                rs.getDouble("payout"),
+                rs.getBoolean("win")
+        );
+        result.setId(rs.getLong("id"));
+        result.setResult(rs.getString("result"));
+        result.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        result.setGameData(rs.getString("game_data"));
+        result.setMetadata(rs.getString("metadata"));
+        return result;
+    }
+
+    // Apply one best-payout upsert per (username, game). Scores must already be folded by the caller:
+    // a rewritten multi-row INSERT cannot touch the same conflict key twice.
+    public int batchUpsertBestPayouts(List<PlayerScore> scores) {
+        if (scores.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_BEST_PAYOUT_SQL, scores, scores.size(), (ps, score) -> {
+            ps.setString(1, score.getUsername());
+            ps.setString(2, score.getRole());
+            ps.setString(3, score.getGame());
+            ps.setDouble(4, score.getScore());
+            ps.setTimestamp(5, Timestamp.valueOf(score.getTimestamp()));
+            ps.setString(6, score.getMetadata());
+            ps.setObject(7, score.getInitialBet(), Types.DOUBLE);
+            ps.setObject(8, score.getWinnings(), Types.DOUBLE);
+        });
+        return scores.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vegas.scoring.repository;
+
+import com.vegas.scoring.stats.GameStatsTotals;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+public class GameStatsJdbcRepository {
+
+    // Deltas are added, so every replica can checkpoint its own counters into the same row
+    private static final String ADD_DELTA_SQL =
+            "INSERT INTO game_stats (game, total_games, total_wins, total_bet_amount, total_payout, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (game) DO UPDATE SET " +
+            "total_games = game_stats.total_games + EXCLUDED.total_games, " +
+            "total_wins = game_stats.total_wins + EXCLUDED.total_wins, " +
+            "total_bet_amount = game_stats.total_bet_amount + EXCLUDED.total_bet_amount, " +
+            "total_payout = game_stats.total_payout + EXCLUDED.total_payout, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT game, total_games, total_wins, total_bet_amount, total_payout FROM game_stats ORDER BY game";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void addDelta(String game, long games, long wins, double betAmount, double payout) {
+        jdbcTemplate.update(ADD_DELTA_SQL, game, games, wins, betAmount, payout);
+    }
+
+    public Map<String, GameStatsTotals> findAll() {
+        Map<String, GameStatsTotals> totals = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            totals.put(rs.getString("game"), new GameStatsTotals(
+                    rs.getLong("total_games"),
+                    rs.getLong("total_wins"),
+                    rs.getDouble("total_bet_amount"),
+                    rs.getDouble("total_payout")));
+        });
+        return totals;
+    }
+}
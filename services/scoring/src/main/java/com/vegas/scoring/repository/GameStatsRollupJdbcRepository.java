@@ -0,0 +1,149 @@
+package com.vegas.scoring.repository;
+
+import com.vegas.scoring.stats.HyperLogLog;
+import com.vegas.scoring.stats.RollupRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class GameStatsRollupJdbcRepository {
+
+    public static final String MINUTE = "minute";
+    public static final String HOUR = "hour";
+    public static final String DAY = "day";
+
+    // Instances add their own closed minute buckets, so the same minute may be written more than once.
+    // active_players is set from the merged player sketch afterwards.
+    private static final String ADD_MINUTE_SQL =
+            "INSERT INTO game_stats_rollup (game, resolution, bucket_start, games, wins, bet_amount, payout, active_players) " +
+            "VALUES (?, 'minute', ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (game, resolution, bucket_start) DO UPDATE SET " +
+            "games = game_stats_rollup.games + EXCLUDED.games, " +
+            "wins = game_stats_rollup.wins + EXCLUDED.wins, " +
+            "bet_amount = game_stats_rollup.bet_amount + EXCLUDED.bet_amount, " +
+            "payout = game_stats_rollup.payout + EXCLUDED.payout";
+
+    private static final String SELECT_SKETCH_FOR_UPDATE_SQL =
+            "SELECT players_hll FROM game_stats_rollup WHERE game = ? AND resolution = ? AND bucket_start = ? FOR UPDATE";
+
+    private static final String UPDATE_SKETCH_SQL =
+            "UPDATE game_stats_rollup SET players_hll = ?, active_players = ? " +
+            "WHERE game = ? AND resolution = ? AND bucket_start = ?";
+
+    // Recompute coarser buckets from finer ones; idempotent, so overlapping runs are harmless.
+    // active_players is replaced afterwards by the estimate of the unioned sketches.
+    private static final String COMPACT_SQL =
+            "INSERT INTO game_stats_rollup (game, resolution, bucket_start, games, wins, bet_amount, payout, active_players) " +
+            "SELECT game, '%1$s', date_trunc('%1$s', bucket_start), SUM(games), SUM(wins), SUM(bet_amount), SUM(payout), MAX(active_players) " +
+            "FROM game_stats_rollup WHERE resolution = '%2$s' AND bucket_start >= ? AND bucket_start < ? " +
+            "GROUP BY game, date_trunc('%1$s', bucket_start) " +
+            "ON CONFLICT (game, resolution, bucket_start) DO UPDATE SET " +
+            "games = EXCLUDED.games, " +
+            "wins = EXCLUDED.wins, " +
+            "bet_amount = EXCLUDED.bet_amount, " +
+            "payout = EXCLUDED.payout, " +
+            "active_players = EXCLUDED.active_players";
+
+    private static final String SELECT_RANGE_SQL =
+            "SELECT game, bucket_start, games, wins, bet_amount, payout, active_players, players_hll FROM game_stats_rollup " +
+            "WHERE game = ? AND resolution = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+
+    private static final String SELECT_SKETCHES_SQL =
+            "SELECT game, bucket_start, players_hll FROM game_stats_rollup " +
+            "WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ? AND players_hll IS NOT NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Add the counters, then union each player sketch into the stored one under a row lock
+    @Transactional
+    public void addMinuteBuckets(List<RollupRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_MINUTE_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getGame());
+            ps.setTimestamp(2, Timestamp.valueOf(row.getBucketStart()));
+            ps.setLong(3, row.getGames());
+            ps.setLong(4, row.getWins());
+            ps.setDouble(5, row.getBetAmount());
+            ps.setDouble(6, row.getPayout());
+            ps.setLong(7, row.getActivePlayers());
+        });
+        for (RollupRow row : rows) {
+            if (row.getPlayers() != null) {
+                mergeSketch(row.getGame(), MINUTE, row.getBucketStart(), row.getPlayers());
+            }
+        }
+    }
+
+    private void mergeSketch(String game, String resolution, LocalDateTime bucketStart, HyperLogLog players) {
+        Timestamp start = Timestamp.valueOf(bucketStart);
+        List<byte[]> stored = jdbcTemplate.query(SELECT_SKETCH_FOR_UPDATE_SQL,
+                (rs, rowNum) -> rs.getBytes("players_hll"), game, resolution, start);
+        HyperLogLog merged = players.copy();
+        if (!stored.isEmpty() && stored.get(0) != null) {
+            merged.merge(HyperLogLog.fromBytes(stored.get(0)));
+        }
+        jdbcTemplate.update(UPDATE_SKETCH_SQL, merged.toBytes(), merged.estimate(), game, resolution, start);
+    }
+
+    // Rebuild `target` buckets (hour or day) in [from, to) from `source` buckets (minute or hour)
+    @Transactional
+    public int compact(String source, String target, LocalDateTime from, LocalDateTime to) {
+        int buckets = jdbcTemplate.update(String.format(COMPACT_SQL, target, source),
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        ChronoUnit unit = HOUR.equals(target) ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        Map<String, Map<LocalDateTime, HyperLogLog>> unions = new HashMap<>();
+        jdbcTemplate.query(SELECT_SKETCHES_SQL, rs -> {
+            LocalDateTime bucket = rs.getTimestamp("bucket_start").toLocalDateTime().truncatedTo(unit);
+            HyperLogLog sketch = HyperLogLog.fromBytes(rs.getBytes("players_hll"));
+            unions.computeIfAbsent(rs.getString("game"), game -> new HashMap<>())
+                    .merge(bucket, sketch, HyperLogLog::merge);
+        }, source, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        for (Map.Entry<String, Map<LocalDateTime, HyperLogLog>> game : unions.entrySet()) {
+            for (Map.Entry<LocalDateTime, HyperLogLog> bucket : game.getValue().entrySet()) {
+                jdbcTemplate.update(UPDATE_SKETCH_SQL, bucket.getValue().toBytes(), bucket.getValue().estimate(),
+                        game.getKey(), target, Timestamp.valueOf(bucket.getKey()));
+            }
+        }
+        return buckets;
+    }
+
+    // Union of the player sketches of one game's buckets in [from, to)
+    public HyperLogLog unionPlayers(String game, String resolution, LocalDateTime from, LocalDateTime to) {
+        HyperLogLog union = new HyperLogLog();
+        jdbcTemplate.query(SELECT_SKETCHES_SQL + " AND game = ?", rs -> {
+            union.merge(HyperLogLog.fromBytes(rs.getBytes("players_hll")));
+        }, resolution, Timestamp.valueOf(from), Timestamp.valueOf(to), game);
+        return union;
+    }
+
+    public int deleteOlderThan(String resolution, LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM game_stats_rollup WHERE resolution = ? AND bucket_start < ?",
+                resolution, Timestamp.valueOf(before));
+    }
+
+    public List<RollupRow> findRange(String game, String resolution, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SELECT_RANGE_SQL, (rs, rowNum) -> new RollupRow(
+                rs.getString("game"),
+                rs.getTimestamp("bucket_start").toLocalDateTime(),
+                rs.getLong("games"),
+                rs.getLong("wins"),
+                rs.getDouble("bet_amount"),
+                rs.getDouble("payout"),
+                rs.getLong("active_players"),
+                rs.getBytes("players_hll") != null ? HyperLogLog.fromBytes(rs.getBytes("players_hll")) : null
+        ), game, resolution, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+}
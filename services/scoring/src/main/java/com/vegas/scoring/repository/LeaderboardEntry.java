@@ -0,0 +1,18 @@
+package com.vegas.scoring.repository;
+
+// Read-only projection for leaderboard queries; avoids hydrating managed PlayerScore entities
+public interface LeaderboardEntry {
+    String getUsername();
+
+    String getRole();
+
+    String getGame();
+
+    Double getScore();
+
+    String getMetadata();
+
+    Double getInitialBet();
+
+    Double getWinnings();
+}
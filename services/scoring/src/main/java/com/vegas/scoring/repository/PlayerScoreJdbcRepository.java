@@ -0,0 +1,69 @@
+package com.vegas.scoring.repository;
+
+import com.vegas.scoring.model.PlayerScore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+@Repository
+public class PlayerScoreJdbcRepository {
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT id, username, role, game, score, timestamp, metadata, initial_bet, winnings FROM player_scores";
+
+    // Rows touched after a point in time, via idx_player_scores_timestamp (every upsert sets timestamp)
+    private static final String SELECT_SINCE_SQL = SELECT_ALL_SQL + " WHERE timestamp > ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${scoring.jdbc.fetch-size:1000}")
+    private int fetchSize;
+
+    // Stream every player score through the consumer without materialising the table.
+    // The read-only transaction disables autocommit so the driver can use a server-side cursor.
+    @Transactional(readOnly = true)
+    public void forEachPlayerScore(Consumer<PlayerScore> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ALL_SQL);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    // Same as forEachPlayerScore, restricted to rows whose timestamp is after `since`
+    @Transactional(readOnly = true)
+    public void forEachPlayerScoreSince(LocalDateTime since, Consumer<PlayerScore> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SINCE_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(since));
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    static PlayerScore mapRow(ResultSet rs) throws SQLException {
+        PlayerScore score = new PlayerScore(
+                rs.getString("username"),
+                rs.getString("role"),
+                rs.getString("game"),
+                rs.getDouble("score")
+        );
+        score.setId(rs.getLong("id"));
+        score.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        score.setMetadata(rs.getString("metadata"));
+        score.setInitialBet(rs.getObject("initial_bet", Double.class));
+        score.setWinnings(rs.getObject("winnings", Double.class));
+        return score;
+    }
+}
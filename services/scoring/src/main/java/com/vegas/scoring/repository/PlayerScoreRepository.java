@@ -2,10 +2,12 @@ package com.vegas.scoring.repository;
 
 import com.vegas.scoring.model.PlayerScore;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,47 @@ public interface PlayerScoreRepository extends JpaRepository<PlayerScore, Long>
     @Query(value = "SELECT * FROM player_scores WHERE game = :game ORDER BY score DESC LIMIT :limit", nativeQuery = true)
     List<PlayerScore> findTopNByGame(@Param("game") String game, @Param("limit") int limit);
 
+    // Best score per player across all games, reduced in the database.
+    // With one row per (username, game), the top limit * (number of games) rows by score always contain
+    // the top `limit` players, so only that window is read (idx_score) regardless of table size.
+    // The number of games is found with a loose index scan over idx_game_score.
+    @Query(value = "WITH RECURSIVE games AS (" +
+            "  SELECT MIN(game) AS game FROM player_scores" +
+            "  UNION ALL" +
+            "  SELECT (SELECT MIN(ps.game) FROM player_scores ps WHERE ps.game > g.game) FROM games g WHERE g.game IS NOT NULL" +
+            "), candidates AS (" +
+            "  SELECT username, role, game, score, metadata, initial_bet, winnings FROM player_scores" +
+            "  ORDER BY score DESC" +
+            "  LIMIT :limit * (SELECT COUNT(game) FROM games)" +
+            ") " +
+            "SELECT username, role, game, score, metadata, initial_bet AS \"initialBet\", winnings FROM (" +
+            "  SELECT DISTINCT ON (username) username, role, game, score, metadata, initial_bet, winnings FROM candidates" +
+            "  ORDER BY username, score DESC" +
+            ") best " +
+            "ORDER BY score DESC LIMIT :limit", nativeQuery = true)
+    List<LeaderboardEntry> findTopNAcrossGames(@Param("limit") int limit);
+
+    // Rank lookups on idx_game_score: players ahead of (score, username) in leaderboard order
+    @Query(value = "SELECT COUNT(*) FROM player_scores WHERE game = :game " +
+            "AND (score > :score OR (score = :score AND username < :username))", nativeQuery = true)
+    Long countRankedAbove(@Param("game") String game, @Param("score") Double score, @Param("username") String username);
+
+    Long countByGame(String game);
+
+    // Nearest K players above, closest first
+    @Query(value = "SELECT * FROM player_scores WHERE game = :game " +
+            "AND (score > :score OR (score = :score AND username < :username)) " +
+            "ORDER BY score ASC, username DESC LIMIT :limit", nativeQuery = true)
+    List<PlayerScore> findRankedAbove(@Param("game") String game, @Param("score") Double score,
+                                      @Param("username") String username, @Param("limit") int limit);
+
+    // Nearest K players below, closest first
+    @Query(value = "SELECT * FROM player_scores WHERE game = :game " +
+            "AND (score < :score OR (score = :score AND username > :username)) " +
+            "ORDER BY score DESC, username ASC LIMIT :limit", nativeQuery = true)
+    List<PlayerScore> findRankedBelow(@Param("game") String game, @Param("score") Double score,
+                                      @Param("username") String username, @Param("limit") int limit);
+
     // Find best score for a user in a specific game
     Optional<PlayerScore> findFirstByUsernameAndGameOrderByScoreDesc(String username, String game);
 
@@ -28,6 +71,23 @@ public interface PlayerScoreRepository extends JpaRepository<PlayerScore, Long>
     
     // Find scores for a user in a specific game, ordered by timestamp (most recent first)
     List<PlayerScore> findByUsernameAndGameOrderByTimestampDesc(String username, String game);
+
+    // Atomically keep the best score per (username, game) and touch the timestamp (backed by uk_player_scores_username_game).
+    // metadata, initial_bet and winnings always describe the best game.
+    @Modifying
+    @Query(value = "INSERT INTO player_scores (username, role, game, score, timestamp, metadata, initial_bet, winnings) " +
+            "VALUES (:username, :role, :game, :score, :timestamp, CAST(:metadata AS VARCHAR), " +
+            "CAST(:initialBet AS DOUBLE PRECISION), CAST(:winnings AS DOUBLE PRECISION)) " +
+            "ON CONFLICT (username, game) DO UPDATE SET " +
+            "metadata = CASE WHEN EXCLUDED.score > player_scores.score THEN EXCLUDED.metadata ELSE player_scores.metadata END, " +
+            "initial_bet = CASE WHEN EXCLUDED.score > player_scores.score THEN EXCLUDED.initial_bet ELSE player_scores.initial_bet END, " +
+            "winnings = CASE WHEN EXCLUDED.score > player_scores.score THEN EXCLUDED.winnings ELSE player_scores.winnings END, " +
+            "score = GREATEST(player_scores.score, EXCLUDED.score), " +
+            "timestamp = EXCLUDED.timestamp", nativeQuery = true)
+    int upsertBestScore(@Param("username") String username, @Param("role") String role, @Param("game") String game,
+                        @Param("score") Double score, @Param("timestamp") LocalDateTime timestamp,
+                        @Param("metadata") String metadata, @Param("initialBet") Double initialBet,
+                        @Param("winnings") Double winnings);
 }
 
 
@@ -0,0 +1,55 @@
+package com.vegas.scoring.repository;
+
+import com.vegas.scoring.stats.DDSketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class QuantileSketchJdbcRepository {
+
+    // Creates the row on first use so the merge below always has a row to lock
+    private static final String INSERT_EMPTY_SQL =
+            "INSERT INTO game_quantile_sketches (game, metric, sketch) VALUES (?, ?, ?) " +
+            "ON CONFLICT (game, metric) DO NOTHING";
+
+    private static final String SELECT_FOR_UPDATE_SQL =
+            "SELECT sketch FROM game_quantile_sketches WHERE game = ? AND metric = ? FOR UPDATE";
+
+    private static final String UPDATE_SQL =
+            "UPDATE game_quantile_sketches SET sketch = ?, updated_at = now() WHERE game = ? AND metric = ?";
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT game, metric, sketch FROM game_quantile_sketches";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Merge a delta sketch into the stored one under a row lock; sketches add, so every replica can merge its own
+    @Transactional
+    public void merge(String game, String metric, DDSketch delta) {
+        jdbcTemplate.update(INSERT_EMPTY_SQL, game, metric, new DDSketch().toBytes());
+        List<byte[]> stored = jdbcTemplate.query(SELECT_FOR_UPDATE_SQL,
+                (rs, rowNum) -> rs.getBytes("sketch"), game, metric);
+        DDSketch merged = delta.copy();
+        if (!stored.isEmpty()) {
+            merged.merge(DDSketch.fromBytes(stored.get(0)));
+        }
+        jdbcTemplate.update(UPDATE_SQL, merged.toBytes(), game, metric);
+    }
+
+    // game -> metric -> sketch
+    public Map<String, Map<String, DDSketch>> findAll() {
+        Map<String, Map<String, DDSketch>> sketches = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            sketches.computeIfAbsent(rs.getString("game"), game -> new HashMap<>())
+                    .put(rs.getString("metric"), DDSketch.fromBytes(rs.getBytes("sketch")));
+        });
+        return sketches;
+    }
+}
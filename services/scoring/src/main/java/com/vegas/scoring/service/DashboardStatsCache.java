@@ -0,0 +1,221 @@
+package com.vegas.scoring.service;
+
+import com.vegas.scoring.dto.DashboardStats;
+import com.vegas.scoring.model.GameResult;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Short-lived cache in front of the dashboard computations.
+// - Entries older than the TTL are recomputed on read; concurrent misses for the same key share one computation.
+// - A game result for a game marks that game's entry (and the all-games entry) dirty: the next read still gets
+//   the cached value but triggers one background refresh, at most once per min-refresh interval.
+// - Only tracked games (see TrackedGames) are cached, so the key space is bounded; other games are computed on
+//   every read. Expired entries are evicted on a schedule.
+// Writes on other replicas are only picked up through the TTL.
+@Component
+public class DashboardStatsCache implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsCache.class);
+
+    private static final AttributeKey<String> CACHE = AttributeKey.stringKey("cache");
+    private static final AttributeKey<String> RESULT = AttributeKey.stringKey("result");
+
+    private static final String ALL_GAMES = "all";
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    @Value("${scoring.dashboard.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scoring.dashboard.cache.ttl-ms:5000}")
+    private long ttlMs;
+
+    @Value("${scoring.dashboard.cache.min-refresh-interval-ms:1000}")
+    private long minRefreshIntervalMs;
+
+    private final Cache<DashboardStats> perGame = new Cache<>("game");
+    private final Cache<List<DashboardStats>> allGames = new Cache<>("all_games");
+
+    private LongCounter requestCounter;
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    public void start() {
+        requestCounter = meter.counterBuilder("scoring.dashboard.cache.requests")
+                .setDescription("Dashboard cache lookups, by result (hit, miss, coalesced, stale)")
+                .setUnit("{request}")
+                .build();
+        // Background soft refreshes; when the pool is busy the refresh is skipped and retried on a later read
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(16),
+                new CustomizableThreadFactory("dashboard-refresh-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        refreshExecutor = executor;
+    }
+
+    @PreDestroy
+    public void stop() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public DashboardStats getGame(String game, Supplier<DashboardStats> loader) {
+        return enabled && trackedGames.isTracked(game) ? perGame.get(game, loader) : loader.get();
+    }
+
+    public List<DashboardStats> getAllGames(Supplier<List<DashboardStats>> loader) {
+        return enabled ? allGames.get(ALL_GAMES, loader) : loader.get();
+    }
+
+    @Override
+    public void onGameResult(GameResult result) {
+        if (trackedGames.isTracked(result.getGame())) {
+            perGame.markDirty(result.getGame());
+        }
+        allGames.markDirty(ALL_GAMES);
+    }
+
+    @Scheduled(fixedDelayString = "${scoring.dashboard.cache.ttl-ms:5000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        perGame.evictExpired(now);
+        allGames.evictExpired(now);
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final class Cache<V> {
+        private final Attributes hit;
+        private final Attributes miss;
+        private final Attributes coalesced;
+        private final Attributes stale;
+
+        private final ConcurrentMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Long> writtenAt = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+        Cache(String name) {
+            this.hit = Attributes.of(CACHE, name, RESULT, "hit");
+            this.miss = Attributes.of(CACHE, name, RESULT, "miss");
+            this.coalesced = Attributes.of(CACHE, name, RESULT, "coalesced");
+            this.stale = Attributes.of(CACHE, name, RESULT, "stale");
+        }
+
+        V get(String key, Supplier<V> loader) {
+            long now = System.nanoTime();
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt < TimeUnit.MILLISECONDS.toNanos(ttlMs)) {
+                Long written = writtenAt.get(key);
+                boolean dirty = written != null && written - entry.loadedAt >= 0;
+                if (dirty && now - entry.loadedAt >= TimeUnit.MILLISECONDS.toNanos(minRefreshIntervalMs)) {
+                    requestCounter.add(1, stale);
+                    refreshInBackground(key, loader);
+                } else {
+                    requestCounter.add(1, hit);
+                }
+                return entry.value;
+            }
+            return load(key, loader);
+        }
+
+        void markDirty(String key) {
+            writtenAt.put(key, System.nanoTime());
+        }
+
+        // A write mark older than the TTL can only refer to an entry that has expired as well
+        void evictExpired(long now) {
+            long ttl = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+            entries.values().removeIf(entry -> now - entry.loadedAt >= ttl);
+            writtenAt.values().removeIf(written -> now - written >= ttl);
+        }
+
+        // Single flight: the first caller computes, concurrent callers wait for the same result
+        private V load(String key, Supplier<V> loader) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = loading.putIfAbsent(key, future);
+            if (existing != null) {
+                requestCounter.add(1, coalesced);
+                return join(existing);
+            }
+            requestCounter.add(1, miss);
+            compute(key, loader, future);
+            return join(future);
+        }
+
+        private void refreshInBackground(String key, Supplier<V> loader) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            if (loading.putIfAbsent(key, future) != null) {
+                return;
+            }
+            try {
+                refreshExecutor.execute(() -> compute(key, loader, future));
+            } catch (RejectedExecutionException e) {
+                loading.remove(key, future);
+                future.cancel(false);
+            }
+        }
+
+        private void compute(String key, Supplier<V> loader, CompletableFuture<V> future) {
+            // Taken before loading so a write that lands during the computation leaves the entry dirty
+            long loadedAt = System.nanoTime();
+            try {
+                V value = loader.get();
+                entries.put(key, new Entry<>(value, loadedAt));
+                future.complete(value);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to refresh dashboard stats: key={}", key, e);
+                future.completeExceptionally(e);
+            } finally {
+                loading.remove(key, future);
+            }
+        }
+
+        private V join(CompletableFuture<V> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
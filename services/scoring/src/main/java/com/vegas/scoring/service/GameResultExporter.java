@@ -0,0 +1,141 @@
+package com.vegas.scoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.repository.GameResultJdbcRepository;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+// Writes game_results straight from a JDBC cursor to the response stream, one row at a time,
+// so heap use does not depend on the size of the exported range.
+@Service
+public class GameResultExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameResultExporter.class);
+
+    private static final String CSV_HEADER =
+            "id,username,game,action,bet_amount,payout,win,result,timestamp,game_data,metadata\n";
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    @Autowired
+    private GameResultJdbcRepository gameResultJdbcRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("tracer")
+    private Tracer tracer;
+
+    // Returns the number of rows written
+    public long export(Format format, String game, String username, LocalDateTime from, LocalDateTime to,
+                       OutputStream target) throws IOException {
+        Span exportSpan = tracer.spanBuilder("db.export_game_results")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
+                .setAttribute("db.game", game != null ? game : "")
+                .setAttribute("export.format", format.getExtension())
+                .startSpan();
+
+        try (Scope exportScope = exportSpan.makeCurrent()) {
+            OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+            if (format == Format.CSV) {
+                out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+            long rows = gameResultJdbcRepository.forEachGameResult(game, username, from, to, result -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsvRow(out, result);
+                    } else {
+                        out.write(objectMapper.writeValueAsBytes(result));
+                        out.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            exportSpan.setAttribute("db.records_found", rows);
+            exportSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+            logger.info("Exported game results: format={}, game={}, rows={}", format, game, rows);
+            return rows;
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download; the cursor is closed when the transaction ends
+            exportSpan.recordException(e.getCause());
+            exportSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getCause().getMessage());
+            throw e.getCause();
+        } catch (Exception e) {
+            exportSpan.recordException(e);
+            exportSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            exportSpan.end();
+        }
+    }
+
+    private static void writeCsvRow(OutputStream out, GameResult result) throws IOException {
+        StringBuilder row = new StringBuilder(256);
+        row.append(result.getId()).append(',');
+        appendCsv(row, result.getUsername()).append(',');
+        appendCsv(row, result.getGame()).append(',');
+        appendCsv(row, result.getAction()).append(',');
+        row.append(result.getBetAmount()).append(',');
+        row.append(result.getPayout()).append(',');
+        row.append(result.getWin()).append(',');
+        appendCsv(row, result.getResult()).append(',');
+        row.append(result.getTimestamp()).append(',');
+        appendCsv(row, result.getGameData()).append(',');
+        appendCsv(row, result.getMetadata()).append('\n');
+        out.write(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // RFC 4180 quoting: only fields containing a delimiter, quote or line break are quoted
+    private static StringBuilder appendCsv(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
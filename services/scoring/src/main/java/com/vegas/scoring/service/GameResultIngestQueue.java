@@ -0,0 +1,335 @@
+package com.vegas.scoring.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.repository.GameResultJdbcRepository;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Write-behind buffer for POST /game-result when async ingest is enabled.
+// Requests append to a bounded queue and return immediately; a single writer thread
+// drains the queue in micro-batches (by size or by time) through the batch write path.
+// An acknowledged result is either written, retried until the database is back, or kept in
+// game_results_dead_letter when the database rejects it.
+@Component
+public class GameResultIngestQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameResultIngestQueue.class);
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private GameResultJdbcRepository gameResultJdbcRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    @Value("${scoring.ingest.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scoring.ingest.async.capacity:10000}")
+    private int capacity;
+
+    @Value("${scoring.ingest.async.batch-size:500}")
+    private int batchSize;
+
+    @Value("${scoring.ingest.async.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${scoring.ingest.async.retry-initial-ms:100}")
+    private long retryInitialMs;
+
+    @Value("${scoring.ingest.async.retry-max-ms:5000}")
+    private long retryMaxMs;
+
+    @Value("${scoring.ingest.async.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<GameResult> queue;
+    private Thread writer;
+    private volatile boolean running;
+    // Offers hold the read lock while they check running and enqueue; shutdown takes the write lock to
+    // clear running, so no offer can land in the queue after the writer has seen running=false
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+
+    private LongCounter rejectedCounter;
+    private LongCounter flushedCounter;
+    private LongCounter retriedCounter;
+    private LongHistogram batchSizeHistogram;
+    private DoubleHistogram flushLatencyHistogram;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+
+        meter.gaugeBuilder("scoring.ingest.queue.depth")
+                .ofLongs()
+                .setDescription("Game results waiting to be written")
+                .setUnit("{result}")
+                .buildWithCallback(measurement -> measurement.record(queue.size()));
+        rejectedCounter = meter.counterBuilder("scoring.ingest.queue.rejected")
+                .setDescription("Game results rejected because the ingest queue was full")
+                .setUnit("{result}")
+                .build();
+        flushedCounter = meter.counterBuilder("scoring.ingest.queue.flushed")
+                .setDescription("Game results drained from the ingest queue, by outcome")
+                .setUnit("{result}")
+                .build();
+        retriedCounter = meter.counterBuilder("scoring.ingest.flush.retries")
+                .setDescription("Writes of queued game results retried after a transient database failure")
+                .setUnit("{retry}")
+                .build();
+        batchSizeHistogram = meter.histogramBuilder("scoring.ingest.batch.size")
+                .ofLongs()
+                .setDescription("Number of game results written per flush")
+                .setUnit("{result}")
+                .build();
+        flushLatencyHistogram = meter.histogramBuilder("scoring.ingest.flush.duration")
+                .setDescription("Time taken to write one micro-batch")
+                .setUnit("ms")
+                .build();
+
+        running = true;
+        writer = new Thread(this::drainLoop, "game-result-writer");
+        writer.start();
+        logger.info("Async game result ingest enabled: capacity={}, batchSize={}, flushIntervalMs={}",
+                capacity, batchSize, flushIntervalMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns false when the queue is full or shutting down; callers should apply back-pressure
+    public boolean offer(GameResult result) {
+        boolean accepted;
+        acceptLock.readLock().lock();
+        try {
+            accepted = running && queue.offer(result);
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        if (!accepted) {
+            rejectedCounter.add(1);
+        }
+        return accepted;
+    }
+
+    private void drainLoop() {
+        List<GameResult> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                GameResult first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Keep collecting until the batch is full or the flush interval has elapsed
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    GameResult next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } catch (InterruptedException e) {
+                    // Interrupted while the database was unavailable (shutdown timeout): nothing left to retry with
+                    Thread.currentThread().interrupt();
+                    running = false;
+                    queue.drainTo(batch);
+                    logUnwritten(batch);
+                }
+                batch.clear();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+    }
+
+    // Writes the batch, or parks its bad rows in the dead-letter table. While the database is unreachable the
+    // batch is kept and retried with backoff; the writer stops draining, so the queue fills up and offer()
+    // turns new results away with 503 instead of acknowledging results that cannot be stored.
+    private void flush(List<GameResult> batch) throws InterruptedException {
+        long start = System.nanoTime();
+        int size = batch.size();
+        try {
+            if (write(batch, size)) {
+                flushedCounter.add(size, Attributes.of(OUTCOME, "written"));
+                batch.clear();
+                return;
+            }
+            // A row the database rejects on its own: write one by one so only the bad rows are set aside.
+            // Handled rows leave the batch, so an interrupted flush leaves only the unwritten ones behind.
+            logger.warn("Game result batch rejected, writing individually: size={}", size);
+            Iterator<GameResult> remaining = batch.iterator();
+            while (remaining.hasNext()) {
+                if (write(List.of(remaining.next()), size)) {
+                    flushedCounter.add(1, Attributes.of(OUTCOME, "written"));
+                } else {
+                    flushedCounter.add(1, Attributes.of(OUTCOME, "dead_lettered"));
+                }
+                remaining.remove();
+            }
+        } finally {
+            batchSizeHistogram.record(size);
+            flushLatencyHistogram.record((System.nanoTime() - start) / 1_000_000.0);
+        }
+    }
+
+    // True once written. Transient failures are retried until they succeed; false when the rows are rejected,
+    // in which case a single row has already been dead-lettered.
+    private boolean write(List<GameResult> results, int batchSize) throws InterruptedException {
+        long backoffMs = retryInitialMs;
+        while (true) {
+            try {
+                scoringService.recordGameResults(new ArrayList<>(results));
+                return true;
+            } catch (Exception e) {
+                if (!isTransient(e)) {
+                    if (results.size() == 1) {
+                        deadLetter(results.get(0), e);
+                    }
+                    return false;
+                }
+                retriedCounter.add(1);
+                logger.warn("Database unavailable, retrying game results in {}ms: size={}, queued={}, error={}",
+                        backoffMs, batchSize, queue.size(), e.toString());
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, retryMaxMs);
+            }
+        }
+    }
+
+    // Connection loss, pool exhaustion, timeouts, serialization failures and server shutdown are worth
+    // retrying; constraint violations and bad data are not
+    static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof TransientDataAccessException
+                    || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof CannotCreateTransactionException
+                    || t instanceof SQLTransientException
+                    || t instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (t instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().length() >= 2) {
+                // 08 connection exception, 40 transaction rollback, 53 insufficient resources, 57 operator intervention
+                switch (sql.getSQLState().substring(0, 2)) {
+                    case "08", "40", "53", "57":
+                        return true;
+                    default:
+                        break;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void deadLetter(GameResult result, Exception cause) {
+        String payload = toJson(result);
+        try {
+            gameResultJdbcRepository.insertDeadLetter(payload, cause.toString());
+            logger.error("Game result could not be written, moved to game_results_dead_letter: username={}, game={}, action={}, error={}",
+                    result.getUsername(), result.getGame(), result.getAction(), cause.toString());
+        } catch (Exception e) {
+            logger.error("Game result could not be written or dead-lettered: payload={}", payload, e);
+        }
+    }
+
+    // Last resort on shutdown: the acknowledged results go to the log so they can still be replayed
+    private void logUnwritten(List<GameResult> results) {
+        flushedCounter.add(results.size(), Attributes.of(OUTCOME, "unwritten"));
+        for (GameResult result : results) {
+            logger.error("Game result not written before shutdown: payload={}", toJson(result));
+        }
+    }
+
+    private String toJson(GameResult result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            return result.toString();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        // Stop accepting new results and let the writer drain what is already queued
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            logger.warn("Ingest queue did not drain within {}ms: remaining={}", shutdownTimeoutMs, queue.size());
+        } else {
+            logger.info("Ingest queue drained on shutdown");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.vegas.scoring.service;
+
+import com.vegas.scoring.model.GameResult;
+
+// Receives every recorded game result once its transaction has committed
+// (single, batch and async ingest paths). Implementations run on the ingest path and must be cheap.
+public interface GameResultListener {
+    void onGameResult(GameResult result);
+}
@@ -0,0 +1,238 @@
+package com.vegas.scoring.service;
+
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Keeps the daily game_results partitions (V6 migration) ahead of time and applies retention.
+// Runs on every replica; a transaction-scoped advisory lock lets only one of them do the work per run.
+// Rows past the newest daily partition go to game_results_default; every run (even with maintenance
+// disabled) reports how many days ahead the partitions reach and warns when that falls short.
+// All dates come from the JVM clock, like the row timestamps and V6's initial partitions (FlywayConfig).
+@Component
+public class GameResultPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameResultPartitionMaintainer.class);
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    private static final long ADVISORY_LOCK_KEY = 0x67616d655f726573L;
+
+    private static final String ARCHIVE_SCHEMA = "game_results_archive";
+
+    private static final String DEFAULT_PARTITION = "game_results_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'game_results'::regclass";
+
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    @Value("${scoring.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scoring.partitions.premake-days:7}")
+    private int premakeDays;
+
+    // 0 keeps every partition
+    @Value("${scoring.partitions.retention-days:0}")
+    private int retentionDays;
+
+    // detach: move expired partitions to the game_results_archive schema; drop: delete them
+    @Value("${scoring.partitions.retention-action:detach}")
+    private String retentionAction;
+
+    // Warn when the newest partition ends fewer than this many days after today
+    @Value("${scoring.partitions.min-headroom-days:2}")
+    private int minHeadroomDays;
+
+    // Days from today to the end of the newest partition, null until the first run
+    private volatile Long headroomDays;
+
+    @PostConstruct
+    public void registerMetrics() {
+        meter.gaugeBuilder("scoring.partitions.headroom")
+                .ofLongs()
+                .setDescription("Days from today to the end of the newest game_results partition")
+                .setUnit("d")
+                .buildWithCallback(measurement -> {
+                    Long days = headroomDays;
+                    if (days != null) {
+                        measurement.record(days);
+                    }
+                });
+    }
+
+    @Scheduled(initialDelayString = "${scoring.partitions.initial-delay-ms:10000}",
+               fixedDelayString = "${scoring.partitions.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        if (enabled) {
+            createAndExpirePartitions();
+        }
+        try {
+            checkHeadroom();
+        } catch (Exception e) {
+            logger.error("Partition headroom check failed", e);
+        }
+    }
+
+    private void createAndExpirePartitions() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                        Boolean.class, ADVISORY_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    logger.debug("Partition maintenance running on another instance, skipping");
+                    return;
+                }
+                createUpcomingPartitions();
+                if (retentionDays > 0) {
+                    applyRetention();
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Partition maintenance failed", e);
+        }
+    }
+
+    private void createUpcomingPartitions() {
+        // Continue from the newest partition so there are never gaps (the legacy partition ends at
+        // the day after the migration ran)
+        LocalDateTime next = newestEnd(listPartitions());
+        LocalDateTime horizon = LocalDate.now().plusDays(premakeDays + 1).atStartOfDay();
+        if (next == null) {
+            next = LocalDate.now().atStartOfDay();
+        }
+        while (next.isBefore(horizon)) {
+            String name = "game_results_p" + next.format(PARTITION_SUFFIX);
+            LocalDateTime end = next.plusDays(1);
+            Boolean overflowed = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?)",
+                    Boolean.class, Timestamp.valueOf(next), Timestamp.valueOf(end));
+            if (Boolean.TRUE.equals(overflowed)) {
+                // CREATE ... PARTITION OF fails while the default partition holds rows for that range;
+                // move them into a standalone table and attach it instead
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE %s (LIKE game_results INCLUDING DEFAULTS INCLUDING CONSTRAINTS)", name));
+                int moved = jdbcTemplate.update(
+                        "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ? " +
+                        "RETURNING *) INSERT INTO " + name + " SELECT * FROM moved",
+                        Timestamp.valueOf(next), Timestamp.valueOf(end));
+                jdbcTemplate.execute(String.format(
+                        "ALTER TABLE game_results ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                        name, next, end));
+                logger.info("Created game_results partition: {} (moved {} rows from {})", name, moved, DEFAULT_PARTITION);
+            } else {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE %s PARTITION OF game_results FOR VALUES FROM ('%s') TO ('%s')",
+                        name, next, end));
+                logger.info("Created game_results partition: {}", name);
+            }
+            next = end;
+        }
+    }
+
+    private void checkHeadroom() {
+        LocalDateTime newest = newestEnd(listPartitions());
+        if (newest == null) {
+            return;
+        }
+        long days = ChronoUnit.DAYS.between(LocalDate.now(), newest.toLocalDate());
+        headroomDays = days;
+        if (days < minHeadroomDays) {
+            logger.warn("game_results partitions end {} ({} days ahead, minimum {}); newer rows go to {}. " +
+                    "Check that partition maintenance is enabled and succeeding", newest, days, minHeadroomDays,
+                    DEFAULT_PARTITION);
+        }
+        Boolean overflowed = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + ")", Boolean.class);
+        if (Boolean.TRUE.equals(overflowed)) {
+            logger.warn("{} holds rows outside the daily partitions; they move when maintenance creates those days",
+                    DEFAULT_PARTITION);
+        }
+    }
+
+    private void applyRetention() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        for (Partition partition : listPartitions()) {
+            if (partition.end.isAfter(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE game_results DETACH PARTITION " + partition.name);
+            if ("drop".equalsIgnoreCase(retentionAction)) {
+                jdbcTemplate.execute("DROP TABLE " + partition.name);
+                logger.info("Dropped expired game_results partition: {} (ends {})", partition.name, partition.end);
+            } else {
+                jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+                jdbcTemplate.execute("ALTER TABLE " + partition.name + " SET SCHEMA " + ARCHIVE_SCHEMA);
+                logger.info("Archived expired game_results partition: {}.{} (ends {})",
+                        ARCHIVE_SCHEMA, partition.name, partition.end);
+            }
+        }
+    }
+
+    private static LocalDateTime newestEnd(List<Partition> partitions) {
+        LocalDateTime newest = null;
+        for (Partition partition : partitions) {
+            if (newest == null || partition.end.isAfter(newest)) {
+                newest = partition.end;
+            }
+        }
+        return newest;
+    }
+
+    private static final class Partition {
+        final String name;
+        final LocalDateTime end;
+
+        Partition(String name, LocalDateTime end) {
+            this.name = name;
+            this.end = end;
+        }
+    }
+
+    // Range partitions with their exclusive upper bound, parsed from e.g.
+    // "FOR VALUES FROM ('2026-01-01 00:00:00') TO ('2026-01-02 00:00:00')"; the DEFAULT partition has none
+    private List<Partition> listPartitions() {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query(LIST_PARTITIONS_SQL, rs -> {
+            Matcher upper = UPPER_BOUND.matcher(rs.getString("bound"));
+            if (upper.find()) {
+                partitions.add(new Partition(rs.getString("relname"),
+                        LocalDateTime.parse(upper.group(1).replace(' ', 'T'))));
+            }
+        });
+        return partitions;
+    }
+}
@@ -0,0 +1,79 @@
+package com.vegas.scoring.service;
+
+import com.vegas.scoring.model.GameResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Replaces the per-result INFO lines of the ingest path (now at DEBUG) with one line per game per interval:
+// results, wins, amount wagered and paid out since the previous line. Games without results stay silent, and
+// games that are not tracked (see TrackedGames) are summed into one "other" line.
+// Counting is a few adder increments; formatting happens once per game on the scheduler thread.
+@Component
+public class IngestLogSummary implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestLogSummary.class);
+
+    private static final class Tally {
+        final LongAdder results = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final DoubleAdder betAmount = new DoubleAdder();
+        final DoubleAdder payout = new DoubleAdder();
+    }
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    @Value("${scoring.logging.ingest-summary.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${scoring.logging.ingest-summary.interval-ms:1000}")
+    private long intervalMs = 1000;
+
+    private final ConcurrentMap<String, Tally> tallies = new ConcurrentHashMap<>();
+
+    @Override
+    public void onGameResult(GameResult result) {
+        if (!enabled) {
+            return;
+        }
+        Tally tally = tallies.computeIfAbsent(trackedGames.trackOrOther(result.getGame()), key -> new Tally());
+        tally.results.increment();
+        if (Boolean.TRUE.equals(result.getWin())) {
+            tally.wins.increment();
+        }
+        if (result.getBetAmount() != null) {
+            tally.betAmount.add(result.getBetAmount());
+        }
+        if (result.getPayout() != null) {
+            tally.payout.add(result.getPayout());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${scoring.logging.ingest-summary.interval-ms:1000}")
+    public void flush() {
+        if (!enabled || !logger.isInfoEnabled()) {
+            return;
+        }
+        for (Map.Entry<String, Tally> entry : tallies.entrySet()) {
+            Tally tally = entry.getValue();
+            long results = tally.results.sumThenReset();
+            if (results == 0) {
+                continue;
+            }
+            logger.info("Recorded game results: game={}, results={}, wins={}, betAmount={}, payout={}, intervalMs={}",
+                    entry.getKey(), results, tally.wins.sumThenReset(),
+                    String.format("%.2f", tally.betAmount.sumThenReset()),
+                    String.format("%.2f", tally.payout.sumThenReset()), intervalMs);
+        }
+    }
+}
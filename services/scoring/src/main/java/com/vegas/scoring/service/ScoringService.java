@@ -1,30 +1,70 @@
 package com.vegas.scoring.service;
 
+import com.vegas.scoring.leaderboard.LeaderboardIndex;
 import com.vegas.scoring.model.GameResult;
 import com.vegas.scoring.model.PlayerScore;
+import com.vegas.scoring.repository.GameResultJdbcRepository;
 import com.vegas.scoring.repository.GameResultRepository;
 import com.vegas.scoring.repository.PlayerScoreRepository;
+import com.vegas.scoring.stats.GameStatsAggregator;
+import com.vegas.scoring.stats.GameStatsTotals;
+import com.vegas.scoring.stats.QuantileAggregator;
+import com.vegas.scoring.stats.RollupAggregator;
 import com.vegas.scoring.dto.DashboardStats;
+import com.vegas.scoring.dto.GameResultPage;
+import com.vegas.scoring.dto.PlayerRankResponse;
 import com.vegas.scoring.dto.ScoreResponse;
+import com.vegas.scoring.dto.TimeseriesPoint;
+import com.vegas.scoring.dto.TimeseriesResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
@@ -38,19 +78,104 @@ public class ScoringService {
     @Autowired
     private GameResultRepository gameResultRepository;
 
+    @Autowired
+    private GameResultJdbcRepository gameResultJdbcRepository;
+
+    // Boot's shared mapper; thread-safe and reused instead of building one per call
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private GameStatsAggregator gameStatsAggregator;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private RollupAggregator rollupAggregator;
+
+    @Autowired
+    private QuantileAggregator quantileAggregator;
+
+    @Autowired(required = false)
+    private List<GameResultListener> gameResultListeners = new ArrayList<>();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     @Qualifier("tracer")
     private Tracer tracer;
 
+    @Value("${scoring.dashboard.games:slots,roulette,dice,blackjack}")
+    private List<String> dashboardGames;
+
+    @Value("${scoring.dashboard.parallelism:4}")
+    private int dashboardParallelism;
+
+    @Value("${scoring.dashboard.queue-capacity:64}")
+    private int dashboardQueueCapacity;
+
+    @Value("${scoring.dashboard.game-timeout-ms:2000}")
+    private long dashboardGameTimeoutMs;
+
+    // Bounded pool for the per-game dashboard fan-out. Kept private rather than registered as an
+    // Executor bean, which would replace Spring MVC's default async task executor.
+    private ExecutorService dashboardExecutor;
+    // Read-only transaction around each fan-out task; its timeout becomes the JDBC query timeout, so a
+    // timed-out game's queries are cancelled in Postgres and its thread and connection are released
+    private TransactionTemplate dashboardTransaction;
+
+    // Last successfully computed stats per game, served when a fresh computation times out or fails
+    private final ConcurrentMap<String, DashboardStats> lastDashboardStats = new ConcurrentHashMap<>();
+
+    // Dashboard "recent games" windows, e.g. 1h,24h,7d (label -> duration, in configured order)
+    private final Map<String, Duration> recentWindows = new LinkedHashMap<>();
+
+    @Value("${scoring.dashboard.recent-windows:1h,24h,7d}")
+    private void setRecentWindows(String[] windows) {
+        recentWindows.clear();
+        for (String window : windows) {
+            String label = window.trim();
+            if (!label.isEmpty()) {
+                recentWindows.put(label, DurationStyle.detectAndParse(label));
+            }
+        }
+    }
+
+    @PostConstruct
+    public void startDashboardExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(dashboardParallelism, dashboardParallelism,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(dashboardQueueCapacity),
+                new CustomizableThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        // Tasks carry the submitter's OTel context so the per-game db.* spans stay nested under the request span
+        dashboardExecutor = Context.taskWrapping(executor);
+
+        dashboardTransaction = new TransactionTemplate(transactionManager);
+        dashboardTransaction.setReadOnly(true);
+        dashboardTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(dashboardGameTimeoutMs + 999)));
+    }
+
+    @PreDestroy
+    public void stopDashboardExecutor() {
+        dashboardExecutor.shutdownNow();
+    }
+
     @Transactional
     public PlayerScore recordScore(String username, String role, String game, Double score, String metadata) {
-        logger.info("Saving score to database: username={}, game={}, score={}, role={}", 
+        logger.debug("Saving score to database: username={}, game={}, score={}, role={}", 
                 username, game, score, role);
         
         Span span = tracer.spanBuilder("db.save_player_score")
                 .setSpanKind(SpanKind.CLIENT)
                 .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
-                .setAttribute(AttributeKey.stringKey("db.operation"), "INSERT")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "UPSERT")
                 .setAttribute(AttributeKey.stringKey("db.sql.table"), "player_scores")
                 .setAttribute("db.username", username)
                 .setAttribute("db.game", game)
@@ -58,20 +183,27 @@ public class ScoringService {
                 .startSpan();
         
         try (Scope scope = span.makeCurrent()) {
-            PlayerScore playerScore = new PlayerScore(username, role, game, score);
-            if (metadata != null) {
-                playerScore.setMetadata(metadata);
-            }
+            // One row per (username, game): keep the best score rather than appending a new row
+            LocalDateTime timestamp = LocalDateTime.now();
+            Double initialBet = metadataNumber(metadata, "initial_bet");
+            Double winnings = metadataNumber(metadata, "winnings");
+            scoreRepository.upsertBestScore(username, role, game, score, timestamp, metadata, initialBet, winnings);
             
-            PlayerScore savedScore = scoreRepository.save(playerScore);
-            
-            span.setAttribute("db.record_id", savedScore.getId());
             span.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
             
-            logger.info("Successfully saved score to database: id={}, username={}, game={}, score={}", 
-                    savedScore.getId(), username, game, savedScore.getScore());
+            // The submitted score, not the stored best: no read-back after the upsert. The index keeps the
+            // higher of this and what it already holds, like the stored row.
+            PlayerScore recorded = new PlayerScore(username, role, game, score);
+            recorded.setTimestamp(timestamp);
+            recorded.setMetadata(metadata);
+            recorded.setInitialBet(initialBet);
+            recorded.setWinnings(winnings);
+            afterCommit(() -> leaderboardIndex.offer(recorded));
+            
+            logger.debug("Successfully saved score to database: username={}, game={}, score={}", 
+                    username, game, score);
             
-            return savedScore;
+            return recorded;
         } catch (Exception e) {
             span.recordException(e);
             span.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
@@ -82,33 +214,104 @@ public class ScoringService {
     }
 
     public List<PlayerScore> getTopPlayers(String game, int limit) {
+        if (leaderboardIndex.isReady(game)) {
+            // Served from the in-memory ranked index ("all" is indexed as its own board)
+            return leaderboardIndex.top(game, limit);
+        }
         if ("all".equals(game)) {
-            // Get top players across all games - aggregate by username (best score per user)
-            return scoreRepository.findAll().stream()
-                    .collect(Collectors.toMap(
-                            PlayerScore::getUsername,
-                            score -> score,
-                            (a, b) -> a.getScore() > b.getScore() ? a : b
-                    ))
-                    .values()
-                    .stream()
-                    .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
-                    .limit(limit)
+            // Get top players across all games - best score per user, reduced in Postgres
+            return scoreRepository.findTopNAcrossGames(limit).stream()
+                    .map(entry -> {
+                        PlayerScore score = new PlayerScore(entry.getUsername(), entry.getRole(), entry.getGame(), entry.getScore());
+                        score.setMetadata(entry.getMetadata());
+                        score.setInitialBet(entry.getInitialBet());
+                        score.setWinnings(entry.getWinnings());
+                        return score;
+                    })
                     .collect(Collectors.toList());
         }
         return scoreRepository.findTopNByGame(game, limit);
     }
 
-    public List<PlayerScore> getTopPlayersWithRank(String game, int limit) {
-        List<PlayerScore> scores = getTopPlayers(game, limit);
-        // Add rank to each score
-        return IntStream.range(0, scores.size())
-                .mapToObj(i -> {
-                    PlayerScore score = scores.get(i);
-                    // Note: Rank would need to be calculated based on actual position
-                    return score;
-                })
-                .collect(Collectors.toList());
+    // Ranks on the "all" board need the warmed index: without it a rank is a scan over every player's best score
+    public boolean isRankAvailable(String game) {
+        return leaderboardIndex.isReady() || !LeaderboardIndex.ALL_GAMES.equals(game);
+    }
+
+    // Position of one player on a leaderboard plus up to K neighbours on each side; null if the player has no score
+    public PlayerRankResponse getPlayerRank(String game, String username, int neighbours) {
+        if (leaderboardIndex.isReady(game)) {
+            LeaderboardIndex.Position position = leaderboardIndex.position(game, username, neighbours);
+            if (position == null) {
+                return null;
+            }
+            return toRankResponse(game, position.getEntry(), position.getRank(), position.getTotal(),
+                    position.getAbove(), position.getBelow());
+        }
+
+        if (!isRankAvailable(game)) {
+            throw new IllegalStateException("Rank across games is unavailable until the leaderboard index is warm");
+        }
+
+        // Index not warmed yet, or a game without a board: windowed counts on idx_game_score
+        Span rankSpan = tracer.spanBuilder("db.find_player_rank")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                .setAttribute(AttributeKey.stringKey("db.sql.table"), "player_scores")
+                .setAttribute("db.username", username)
+                .setAttribute("db.game", game)
+                .startSpan();
+
+        try (Scope rankScope = rankSpan.makeCurrent()) {
+            PlayerRankResponse response;
+            Optional<PlayerScore> entry = scoreRepository.findFirstByUsernameAndGameOrderByScoreDesc(username, game);
+            if (entry.isEmpty()) {
+                response = null;
+            } else {
+                PlayerScore score = entry.get();
+                long above = scoreRepository.countRankedAbove(game, score.getScore(), username);
+                List<PlayerScore> neighboursAbove = new ArrayList<>(
+                        scoreRepository.findRankedAbove(game, score.getScore(), username, neighbours));
+                Collections.reverse(neighboursAbove);
+                List<PlayerScore> neighboursBelow =
+                        scoreRepository.findRankedBelow(game, score.getScore(), username, neighbours);
+                response = toRankResponse(game, score, above + 1, scoreRepository.countByGame(game),
+                        neighboursAbove, neighboursBelow);
+            }
+            rankSpan.setAttribute("db.record_found", response != null);
+            rankSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+            return response;
+        } catch (Exception e) {
+            rankSpan.recordException(e);
+            rankSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            rankSpan.end();
+        }
+    }
+
+    private PlayerRankResponse toRankResponse(String game, PlayerScore entry, long rank, long total,
+                                              List<PlayerScore> above, List<PlayerScore> below) {
+        PlayerRankResponse response = new PlayerRankResponse();
+        response.setUsername(entry.getUsername());
+        response.setGame(game);
+        response.setRank(rank);
+        response.setScore(entry.getScore());
+        response.setTotalPlayers(total);
+        response.setPercentile(total > 0 ? (double) (total - rank + 1) / total * 100.0 : 0.0);
+        long firstAboveRank = rank - above.size();
+        response.setAbove(IntStream.range(0, above.size())
+                .mapToObj(i -> toScoreResponse(above.get(i), firstAboveRank + i))
+                .collect(Collectors.toList()));
+        response.setBelow(IntStream.range(0, below.size())
+                .mapToObj(i -> toScoreResponse(below.get(i), rank + 1 + i))
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    private ScoreResponse toScoreResponse(PlayerScore score, long rank) {
+        return new ScoreResponse(score.getUsername(), score.getRole(), score.getGame(), score.getScore(), rank);
     }
 
     public PlayerScore getBestScoreForUser(String username, String game) {
@@ -143,7 +346,7 @@ public class ScoringService {
     public GameResult recordGameResult(String username, String game, String action, 
                                        Double betAmount, Double payout, Boolean win,
                                        String result, String gameData, String metadata) {
-        logger.info("Saving game result to database: username={}, game={}, action={}, betAmount={}, payout={}, win={}", 
+        logger.debug("Saving game result to database: username={}, game={}, action={}, betAmount={}, payout={}, win={}", 
                 username, game, action, betAmount, payout, win);
         
         GameResult gameResult = new GameResult(username, game, action, betAmount, payout, win);
@@ -181,146 +384,193 @@ public class ScoringService {
             saveGameResultSpan.end();
         }
         
-        logger.info("Successfully saved game result to database: id={}, username={}, game={}, action={}, win={}", 
+        logger.debug("Successfully saved game result to database: id={}, username={}, game={}, action={}, win={}", 
                 savedResult.getId(), username, game, action, win);
         
         // Automatically update PlayerScore based on game result
         // Store the best single game performance (highest payout) per player per game
         // Score = payout amount (how much they won), not cumulative balance
-        // Store initial bet and winnings in metadata
+        // Bet and winnings of the best game are kept in typed columns (and in metadata for existing readers)
         
-        logger.info("Updating player score: username={}, game={}, betAmount={}, payout={}", 
+        logger.debug("Updating player score: username={}, game={}, betAmount={}, payout={}", 
                 username, game, betAmount, payout);
         
-        // Find existing score entry for this user/game combination
-        Span findScoreSpan = tracer.spanBuilder("db.find_player_score")
+        // Create metadata with bet and winnings info
+        String scoreMetadata = buildScoreMetadata(betAmount, payout);
+        
+        // Single-statement upsert: raises the best payout only if this game beat it and always
+        // touches the timestamp to show recent activity. No read-modify-write, no lost updates across replicas.
+        Span upsertScoreSpan = tracer.spanBuilder("db.upsert_player_score")
                 .setSpanKind(SpanKind.CLIENT)
                 .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
-                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "UPSERT")
                 .setAttribute(AttributeKey.stringKey("db.sql.table"), "player_scores")
                 .setAttribute("db.username", username)
                 .setAttribute("db.game", game)
+                .setAttribute("db.score", payout)
                 .startSpan();
         
-        List<PlayerScore> existingScores;
-        try (Scope findScope = findScoreSpan.makeCurrent()) {
-            existingScores = scoreRepository.findByUsernameAndGameOrderByTimestampDesc(username, game);
-            findScoreSpan.setAttribute("db.records_found", existingScores.size());
-            findScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+        try (Scope upsertScope = upsertScoreSpan.makeCurrent()) {
+            scoreRepository.upsertBestScore(username, "player", game, payout, savedResult.getTimestamp(), scoreMetadata,
+                    betAmount, payout);
+            upsertScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
         } catch (Exception e) {
-            findScoreSpan.recordException(e);
-            findScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            upsertScoreSpan.recordException(e);
+            upsertScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
             throw e;
         } finally {
-            findScoreSpan.end();
+            upsertScoreSpan.end();
         }
         
-        Optional<PlayerScore> existingScoreOpt = existingScores.isEmpty() ? Optional.empty() : Optional.of(existingScores.get(0));
+        logger.debug("Upserted player score: username={}, game={}, payout={}, betAmount={}", 
+                username, game, payout, betAmount);
         
-        // Create metadata with bet and winnings info
-        String scoreMetadata = String.format(
-            "{\"initial_bet\":%.2f,\"winnings\":%.2f,\"net_winnings\":%.2f,\"timestamp\":\"%s\"}",
-            betAmount, payout, (payout - betAmount), LocalDateTime.now().toString()
-        );
+        PlayerScore indexed = new PlayerScore(username, "player", game, payout);
+        indexed.setTimestamp(savedResult.getTimestamp());
+        indexed.setMetadata(scoreMetadata);
+        indexed.setInitialBet(betAmount);
+        indexed.setWinnings(payout);
+        afterCommit(() -> {
+            leaderboardIndex.offer(indexed);
+            publishGameResult(savedResult);
+        });
         
-        if (existingScoreOpt.isPresent()) {
-            // Update if this game has higher payout (better performance)
-            PlayerScore existingScore = existingScoreOpt.get();
-            Double currentBestPayout = existingScore.getScore(); // Current best payout
-            
-            if (payout > currentBestPayout) {
-                // This is a better game, update the score
-                Double oldScore = existingScore.getScore();
-                existingScore.setScore(payout); // Store highest payout as score
-                existingScore.setTimestamp(LocalDateTime.now());
-                existingScore.setMetadata(scoreMetadata); // Store bet and winnings in metadata
-                
-                Span updateScoreSpan = tracer.spanBuilder("db.update_player_score")
-                        .setSpanKind(SpanKind.CLIENT)
-                        .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
-                        .setAttribute(AttributeKey.stringKey("db.operation"), "UPDATE")
-                        .setAttribute(AttributeKey.stringKey("db.sql.table"), "player_scores")
-                        .setAttribute("db.username", username)
-                        .setAttribute("db.game", game)
-                        .setAttribute("db.old_score", oldScore)
-                        .setAttribute("db.new_score", payout)
-                        .startSpan();
-                
-                PlayerScore updatedScore;
-                try (Scope updateScope = updateScoreSpan.makeCurrent()) {
-                    updatedScore = scoreRepository.save(existingScore);
-                    updateScoreSpan.setAttribute("db.record_id", updatedScore.getId());
-                    updateScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
-                } catch (Exception e) {
-                    updateScoreSpan.recordException(e);
-                    updateScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-                    throw e;
-                } finally {
-                    updateScoreSpan.end();
-                }
-                
-                logger.info("Updated player score with better game: id={}, username={}, game={}, oldBestPayout={}, newBestPayout={}, betAmount={}", 
-                        updatedScore.getId(), username, game, oldScore, payout, betAmount);
-            } else {
-                // This game is not better, but update timestamp to show recent activity
-                existingScore.setTimestamp(LocalDateTime.now());
-                
-                Span updateTimestampSpan = tracer.spanBuilder("db.update_player_score_timestamp")
-                        .setSpanKind(SpanKind.CLIENT)
-                        .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
-                        .setAttribute(AttributeKey.stringKey("db.operation"), "UPDATE")
-                        .setAttribute(AttributeKey.stringKey("db.sql.table"), "player_scores")
-                        .setAttribute("db.username", username)
-                        .setAttribute("db.game", game)
-                        .startSpan();
-                
-                try (Scope updateScope = updateTimestampSpan.makeCurrent()) {
-                    scoreRepository.save(existingScore);
-                    updateTimestampSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
-                } catch (Exception e) {
-                    updateTimestampSpan.recordException(e);
-                    updateTimestampSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-                    throw e;
-                } finally {
-                    updateTimestampSpan.end();
-                }
-                
-                logger.info("Game result recorded but not best performance: username={}, game={}, currentBest={}, thisGame={}", 
-                        username, game, currentBestPayout, payout);
+        return savedResult;
+    }
+
+    @Transactional
+    public int recordGameResults(List<GameResult> results) {
+        logger.info("Saving game result batch to database: size={}", results.size());
+
+        Span batchInsertSpan = tracer.spanBuilder("db.batch_save_game_results")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "INSERT")
+                .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
+                .setAttribute("db.batch_size", results.size())
+                .startSpan();
+
+        int recorded;
+        try (Scope batchScope = batchInsertSpan.makeCurrent()) {
+            recorded = gameResultJdbcRepository.batchInsertGameResults(results);
+            batchInsertSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+        } catch (Exception e) {
+            batchInsertSpan.recordException(e);
+            batchInsertSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            batchInsertSpan.end();
+        }
+
+        // Fold the batch down to one best-payout update per (username, game).
+        // Sorted keys keep row-lock order consistent across concurrent batches (no upsert deadlocks).
+        Map<String, PlayerScore> bestScores = new TreeMap<>();
+        for (GameResult result : results) {
+            String key = result.getUsername() + '\u0000' + result.getGame();
+            PlayerScore best = bestScores.get(key);
+            if (best == null) {
+                best = new PlayerScore(result.getUsername(), "player", result.getGame(), result.getPayout());
+                best.setMetadata(buildScoreMetadata(result.getBetAmount(), result.getPayout()));
+                best.setInitialBet(result.getBetAmount());
+                best.setWinnings(result.getPayout());
+                best.setTimestamp(result.getTimestamp());
+                bestScores.put(key, best);
+                continue;
             }
-        } else {
-            // Create new score entry with this game's payout as the initial best
-            PlayerScore newScore = new PlayerScore(username, "player", game, payout); // Score = payout (winnings)
-            newScore.setMetadata(scoreMetadata); // Store bet and winnings in metadata
-            
-            Span createScoreSpan = tracer.spanBuilder("db.create_player_score")
-                    .setSpanKind(SpanKind.CLIENT)
-                    .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
-                    .setAttribute(AttributeKey.stringKey("db.operation"), "INSERT")
-                    .setAttribute(AttributeKey.stringKey("db.sql.table"), "player_scores")
-                    .setAttribute("db.username", username)
-                    .setAttribute("db.game", game)
-                    .setAttribute("db.score", payout)
-                    .startSpan();
-            
-            PlayerScore savedScore;
-            try (Scope createScope = createScoreSpan.makeCurrent()) {
-                savedScore = scoreRepository.save(newScore);
-                createScoreSpan.setAttribute("db.record_id", savedScore.getId());
-                createScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+            if (result.getPayout() > best.getScore()) {
+                best.setScore(result.getPayout());
+                best.setMetadata(buildScoreMetadata(result.getBetAmount(), result.getPayout()));
+                best.setInitialBet(result.getBetAmount());
+                best.setWinnings(result.getPayout());
+            }
+            if (result.getTimestamp().isAfter(best.getTimestamp())) {
+                best.setTimestamp(result.getTimestamp());
+            }
+        }
+
+        Span batchUpsertSpan = tracer.spanBuilder("db.batch_upsert_player_scores")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "UPSERT")
+                .setAttribute(AttributeKey.stringKey("db.sql.table"), "player_scores")
+                .setAttribute("db.batch_size", bestScores.size())
+                .startSpan();
+
+        try (Scope upsertScope = batchUpsertSpan.makeCurrent()) {
+            gameResultJdbcRepository.batchUpsertBestPayouts(new ArrayList<>(bestScores.values()));
+            batchUpsertSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+        } catch (Exception e) {
+            batchUpsertSpan.recordException(e);
+            batchUpsertSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            batchUpsertSpan.end();
+        }
+
+        logger.info("Successfully saved game result batch to database: recorded={}, playerScoresUpdated={}",
+                recorded, bestScores.size());
+
+        afterCommit(() -> {
+            bestScores.values().forEach(leaderboardIndex::offer);
+            results.forEach(this::publishGameResult);
+        });
+
+        return recorded;
+    }
+
+    private void publishGameResult(GameResult result) {
+        for (GameResultListener listener : gameResultListeners) {
+            try {
+                listener.onGameResult(result);
             } catch (Exception e) {
-                createScoreSpan.recordException(e);
-                createScoreSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-                throw e;
-            } finally {
-                createScoreSpan.end();
+                logger.error("Game result listener failed: listener={}", listener.getClass().getSimpleName(), e);
             }
-            
-            logger.info("Created new player score: id={}, username={}, game={}, bestPayout={}, betAmount={}", 
-                    savedScore.getId(), username, game, savedScore.getScore(), betAmount);
         }
-        
-        return savedResult;
+    }
+
+    // Apply in-memory side effects only once the database write is durable
+    private void afterCommit(Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                logger.error("Failed to apply post-commit update", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    // Player score metadata carries the bet and winnings of the best game
+    private String buildScoreMetadata(Double betAmount, Double payout) {
+        return objectMapper.createObjectNode()
+                .put("initial_bet", betAmount)
+                .put("winnings", payout)
+                .put("net_winnings", payout - betAmount)
+                .put("timestamp", LocalDateTime.now().toString())
+                .toString();
+    }
+
+    // Numeric field of client-supplied score metadata, or null when absent or not JSON
+    private Double metadataNumber(String metadata, String field) {
+        if (metadata == null || metadata.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonNode value = objectMapper.readTree(metadata).get(field);
+            return value != null && value.isNumber() ? value.doubleValue() : null;
+        } catch (Exception e) {
+            logger.debug("Ignoring unparseable score metadata: {}", e.getMessage());
+            return null;
+        }
     }
 
     public List<GameResult> getRecentGameResults(String game, int limit) {
@@ -347,6 +597,71 @@ public class ScoringService {
         }
     }
 
+    // Keyset-paginated history, newest first. Filters are optional; the cursor must come from a previous
+    // page with the same filters. Throws IllegalArgumentException for a malformed cursor.
+    public GameResultPage getGameResultHistory(String game, String username, LocalDateTime from, LocalDateTime to,
+                                               String cursor, int size) {
+        LocalDateTime afterTimestamp = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeHistoryCursor(cursor);
+            afterTimestamp = LocalDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+
+        Span findPageSpan = tracer.spanBuilder("db.find_game_results_page")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
+                .setAttribute("db.game", game != null ? game : "")
+                .setAttribute("db.limit", size)
+                .setAttribute("db.has_cursor", afterTimestamp != null)
+                .startSpan();
+
+        try (Scope pageScope = findPageSpan.makeCurrent()) {
+            // One extra row tells whether another page exists
+            List<GameResult> rows = gameResultJdbcRepository.findPage(game, username, from, to,
+                    afterTimestamp, afterId, size + 1);
+            String next = null;
+            if (rows.size() > size) {
+                rows = new ArrayList<>(rows.subList(0, size));
+                GameResult last = rows.get(rows.size() - 1);
+                next = encodeHistoryCursor(last.getTimestamp(), last.getId());
+            }
+            findPageSpan.setAttribute("db.records_found", rows.size());
+            findPageSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+            return new GameResultPage(rows, next);
+        } catch (Exception e) {
+            findPageSpan.recordException(e);
+            findPageSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            findPageSpan.end();
+        }
+    }
+
+    // Cursor = base64url("<timestamp>|<id>") of the last row returned
+    private static String encodeHistoryCursor(LocalDateTime timestamp, Long id) {
+        String position = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeHistoryCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     public List<GameResult> getGameResultsByTimeRange(LocalDateTime start, LocalDateTime end) {
         Span findTimeRangeSpan = tracer.spanBuilder("db.find_game_results_by_time_range")
                 .setSpanKind(SpanKind.CLIENT)
@@ -372,32 +687,70 @@ public class ScoringService {
     }
 
     public DashboardStats getDashboardStats(String game) {
+        return dashboardStatsCache.getGame(game, () -> computeDashboardStats(game));
+    }
+
+    private DashboardStats computeDashboardStats(String game) {
         DashboardStats stats = new DashboardStats();
         stats.setGame(game);
 
-        // Count total games with span
-        Span countGamesSpan = tracer.spanBuilder("db.count_games")
-                .setSpanKind(SpanKind.CLIENT)
-                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
-                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
-                .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
-                .setAttribute("db.game", game)
-                .startSpan();
-        
         Long totalGames;
         Long totalWins;
-        try (Scope countScope = countGamesSpan.makeCurrent()) {
-            totalGames = gameResultRepository.countTotalByGame(game);
-            totalWins = gameResultRepository.countWinsByGame(game);
-            countGamesSpan.setAttribute("db.total_games", totalGames);
-            countGamesSpan.setAttribute("db.total_wins", totalWins);
-            countGamesSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
-        } catch (Exception e) {
-            countGamesSpan.recordException(e);
-            countGamesSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-            throw e;
-        } finally {
-            countGamesSpan.end();
+        Double totalBetAmount;
+        Double totalPayout;
+        if (gameStatsAggregator.isReady()) {
+            // O(1): maintained aggregates instead of four scans of game_results
+            GameStatsTotals totals = gameStatsAggregator.totals(game);
+            totalGames = totals.getTotalGames();
+            totalWins = totals.getTotalWins();
+            totalBetAmount = totals.getTotalBetAmount();
+            totalPayout = totals.getTotalPayout();
+        } else {
+            // Count total games with span
+            Span countGamesSpan = tracer.spanBuilder("db.count_games")
+                    .setSpanKind(SpanKind.CLIENT)
+                    .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                    .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                    .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
+                    .setAttribute("db.game", game)
+                    .startSpan();
+            
+            try (Scope countScope = countGamesSpan.makeCurrent()) {
+                totalGames = gameResultRepository.countTotalByGame(game);
+                totalWins = gameResultRepository.countWinsByGame(game);
+                countGamesSpan.setAttribute("db.total_games", totalGames);
+                countGamesSpan.setAttribute("db.total_wins", totalWins);
+                countGamesSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+            } catch (Exception e) {
+                countGamesSpan.recordException(e);
+                countGamesSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+                throw e;
+            } finally {
+                countGamesSpan.end();
+            }
+
+            // Sum bet amounts and payouts with spans
+            Span sumBetSpan = tracer.spanBuilder("db.sum_bet_amounts")
+                    .setSpanKind(SpanKind.CLIENT)
+                    .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                    .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                    .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
+                    .setAttribute("db.game", game)
+                    .startSpan();
+            
+            try (Scope sumScope = sumBetSpan.makeCurrent()) {
+                totalBetAmount = gameResultRepository.sumBetAmountsByGame(game);
+                totalPayout = gameResultRepository.sumPayoutsByGame(game);
+                sumBetSpan.setAttribute("db.total_bet_amount", totalBetAmount != null ? totalBetAmount : 0.0);
+                sumBetSpan.setAttribute("db.total_payout", totalPayout != null ? totalPayout : 0.0);
+                sumBetSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+            } catch (Exception e) {
+                sumBetSpan.recordException(e);
+                sumBetSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+                throw e;
+            } finally {
+                sumBetSpan.end();
+            }
         }
         
         Long totalLosses = totalGames - totalWins;
@@ -412,31 +765,6 @@ public class ScoringService {
             stats.setWinRate(0.0);
         }
 
-        // Sum bet amounts and payouts with spans
-        Span sumBetSpan = tracer.spanBuilder("db.sum_bet_amounts")
-                .setSpanKind(SpanKind.CLIENT)
-                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
-                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
-                .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
-                .setAttribute("db.game", game)
-                .startSpan();
-        
-        Double totalBetAmount;
-        Double totalPayout;
-        try (Scope sumScope = sumBetSpan.makeCurrent()) {
-            totalBetAmount = gameResultRepository.sumBetAmountsByGame(game);
-            totalPayout = gameResultRepository.sumPayoutsByGame(game);
-            sumBetSpan.setAttribute("db.total_bet_amount", totalBetAmount != null ? totalBetAmount : 0.0);
-            sumBetSpan.setAttribute("db.total_payout", totalPayout != null ? totalPayout : 0.0);
-            sumBetSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
-        } catch (Exception e) {
-            sumBetSpan.recordException(e);
-            sumBetSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-            throw e;
-        } finally {
-            sumBetSpan.end();
-        }
-
         stats.setTotalBetAmount(totalBetAmount != null ? totalBetAmount : 0.0);
         stats.setTotalPayout(totalPayout != null ? totalPayout : 0.0);
         stats.setNetRevenue((totalBetAmount != null ? totalBetAmount : 0.0) - (totalPayout != null ? totalPayout : 0.0));
@@ -449,34 +777,76 @@ public class ScoringService {
             stats.setAveragePayout(0.0);
         }
 
-        // Count recent games (last 24 hours)
-        LocalDateTime yesterday = LocalDateTime.now().minusHours(24);
+        // Percentiles from the ingest-time quantile sketches (in memory, no query)
+        stats.setBetAmountPercentiles(quantileAggregator.percentiles(game, QuantileAggregator.BET_AMOUNT));
+        stats.setPayoutPercentiles(quantileAggregator.percentiles(game, QuantileAggregator.PAYOUT));
+        stats.setNetWinPercentiles(quantileAggregator.percentiles(game, QuantileAggregator.NET_WIN));
+
+        // Count recent games per configured window (last 24 hours is always included for recentGames).
+        // One COUNT ... FILTER query over the widest window instead of loading the 24h entity list.
         LocalDateTime now = LocalDateTime.now();
+        List<String> windowLabels = new ArrayList<>(recentWindows.keySet());
+        List<LocalDateTime> windowStarts = windowLabels.stream()
+                .map(label -> now.minus(recentWindows.get(label)))
+                .collect(Collectors.toList());
+        windowStarts.add(now.minusHours(24));
         
-        Span findRecentSpan = tracer.spanBuilder("db.find_recent_games")
+        Span countRecentSpan = tracer.spanBuilder("db.count_recent_games")
                 .setSpanKind(SpanKind.CLIENT)
                 .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
                 .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
                 .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_results")
                 .setAttribute("db.game", game)
-                .setAttribute("db.time_range_hours", 24)
+                .setAttribute("db.windows", String.join(",", windowLabels))
                 .startSpan();
         
-        List<GameResult> recentResults;
-        try (Scope recentScope = findRecentSpan.makeCurrent()) {
-            recentResults = gameResultRepository.findByGameAndTimestampBetweenOrderByTimestampDesc(
-                    game, yesterday, now);
-            findRecentSpan.setAttribute("db.records_found", recentResults.size());
-            findRecentSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+        long[] recentCounts;
+        try (Scope recentScope = countRecentSpan.makeCurrent()) {
+            recentCounts = gameResultJdbcRepository.countRecentByGame(game, windowStarts);
+            countRecentSpan.setAttribute("db.recent_games_24h", recentCounts[recentCounts.length - 1]);
+            countRecentSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
         } catch (Exception e) {
-            findRecentSpan.recordException(e);
-            findRecentSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            countRecentSpan.recordException(e);
+            countRecentSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
             throw e;
         } finally {
-            findRecentSpan.end();
+            countRecentSpan.end();
         }
         
-        stats.setRecentGames((long) recentResults.size());
+        Map<String, Long> recentGamesByWindow = new LinkedHashMap<>();
+        for (int i = 0; i < windowLabels.size(); i++) {
+            recentGamesByWindow.put(windowLabels.get(i), recentCounts[i]);
+        }
+        stats.setRecentGames(recentCounts[recentCounts.length - 1]);
+        stats.setRecentGamesByWindow(recentGamesByWindow);
+
+        // Distinct players per window from the rollup HyperLogLog sketches (no COUNT(DISTINCT) scan)
+        Span uniquePlayersSpan = tracer.spanBuilder("db.find_player_sketches")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_stats_rollup")
+                .setAttribute("db.game", game)
+                .startSpan();
+
+        try (Scope uniquePlayersScope = uniquePlayersSpan.makeCurrent()) {
+            Map<String, Long> uniquePlayersByWindow = new LinkedHashMap<>();
+            for (Map.Entry<String, Duration> window : recentWindows.entrySet()) {
+                uniquePlayersByWindow.put(window.getKey(), rollupAggregator.uniquePlayers(game, window.getValue()));
+            }
+            Long uniquePlayers = recentWindows.containsKey("24h") ? uniquePlayersByWindow.get("24h")
+                    : Long.valueOf(rollupAggregator.uniquePlayers(game, Duration.ofHours(24)));
+            stats.setUniquePlayers(uniquePlayers);
+            stats.setUniquePlayersByWindow(uniquePlayersByWindow);
+            uniquePlayersSpan.setAttribute("db.unique_players_24h", uniquePlayers);
+            uniquePlayersSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+        } catch (Exception e) {
+            uniquePlayersSpan.recordException(e);
+            uniquePlayersSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            uniquePlayersSpan.end();
+        }
 
         // Get top 10 players for this game
         Span getTopPlayersSpan = tracer.spanBuilder("db.get_top_players")
@@ -500,73 +870,140 @@ public class ScoringService {
         } finally {
             getTopPlayersSpan.end();
         }
-        ObjectMapper objectMapper = new ObjectMapper();
+        // Bet and winnings come from typed columns; no metadata parsing on the read path
         List<ScoreResponse> topPlayers = IntStream.range(0, topPlayerScores.size())
                 .mapToObj(i -> {
                     PlayerScore score = topPlayerScores.get(i);
-                    Double initialBet = null;
-                    Double winnings = score.getScore(); // Score now stores the best payout (winnings)
-                    
-                    // Extract initial bet from metadata if available
-                    if (score.getMetadata() != null && !score.getMetadata().isEmpty()) {
-                        try {
-                            @SuppressWarnings("unchecked")
-                            Map<String, Object> metadata = objectMapper.readValue(score.getMetadata(), Map.class);
-                            if (metadata.containsKey("initial_bet")) {
-                                initialBet = ((Number) metadata.get("initial_bet")).doubleValue();
-                            }
-                            // winnings is already stored as score, but we can also get it from metadata
-                            if (metadata.containsKey("winnings")) {
-                                winnings = ((Number) metadata.get("winnings")).doubleValue();
-                            }
-                        } catch (Exception e) {
-                            // If metadata parsing fails, use score as winnings
-                            logger.warn("Failed to parse metadata for score {}: {}", score.getId(), e.getMessage());
-                        }
-                    }
-                    
                     return new ScoreResponse(
                             score.getUsername(),
                             score.getRole(),
                             score.getGame(),
                             score.getScore(), // This is now the best payout (winnings)
                             (long) (i + 1), // Rank
-                            initialBet,
-                            winnings
+                            score.getInitialBet(),
+                            score.getWinnings() != null ? score.getWinnings() : score.getScore()
                     );
                 })
                 .collect(Collectors.toList());
         stats.setTopPlayers(topPlayers);
+        stats.setStale(false);
 
         return stats;
     }
 
+    // Bets, payouts, wins and active players per step, from the game_stats_rollup buckets
+    public TimeseriesResponse getTimeseries(String game, LocalDateTime from, LocalDateTime to, Duration step) {
+        String resolution = RollupAggregator.resolutionFor(step);
+        Span rollupSpan = tracer.spanBuilder("db.find_rollup")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("db.system"), "postgresql")
+                .setAttribute(AttributeKey.stringKey("db.operation"), "SELECT")
+                .setAttribute(AttributeKey.stringKey("db.sql.table"), "game_stats_rollup")
+                .setAttribute("db.game", game)
+                .setAttribute("db.resolution", resolution)
+                .startSpan();
+
+        try (Scope rollupScope = rollupSpan.makeCurrent()) {
+            List<TimeseriesPoint> points = rollupAggregator.timeseries(game, from, to, step);
+            rollupSpan.setAttribute("db.records_found", points.size());
+            rollupSpan.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
+            return new TimeseriesResponse(game, resolution, step.getSeconds(), points);
+        } catch (Exception e) {
+            rollupSpan.recordException(e);
+            rollupSpan.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            rollupSpan.end();
+        }
+    }
+
     public List<DashboardStats> getAllGamesDashboardStats() {
-        List<String> games = List.of("slots", "roulette", "dice", "blackjack");
-        return games.stream()
-                .map(game -> {
-                    try {
-                        return getDashboardStats(game);
-                    } catch (Exception e) {
-                        logger.error("Error getting dashboard stats for game: {}", game, e);
-                        // Return empty stats for this game instead of failing completely
-                        DashboardStats emptyStats = new DashboardStats();
-                        emptyStats.setGame(game);
-                        emptyStats.setTotalGames(0L);
-                        emptyStats.setTotalWins(0L);
-                        emptyStats.setTotalLosses(0L);
-                        emptyStats.setWinRate(0.0);
-                        emptyStats.setTotalBetAmount(0.0);
-                        emptyStats.setTotalPayout(0.0);
-                        emptyStats.setNetRevenue(0.0);
-                        emptyStats.setAverageBetAmount(0.0);
-                        emptyStats.setAveragePayout(0.0);
-                        emptyStats.setRecentGames(0L);
-                        emptyStats.setTopPlayers(new ArrayList<>());
-                        return emptyStats;
-                    }
-                })
-                .collect(Collectors.toList());
+        return dashboardStatsCache.getAllGames(this::computeAllGamesDashboardStats);
+    }
+
+    private List<DashboardStats> computeAllGamesDashboardStats() {
+        // Only the configured games: game names are client-supplied, so every game ever posted would multiply
+        // the work per request (a configured game without results shows up with zero totals)
+        // Compute every game concurrently; one slow game only costs its own timeout
+        Map<String, Future<DashboardStats>> pending = new LinkedHashMap<>();
+        for (String game : dashboardGames) {
+            Future<DashboardStats> future;
+            try {
+                future = dashboardExecutor.submit(() -> dashboardTransaction.execute(status -> getDashboardStats(game)));
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            pending.put(game, future);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(dashboardGameTimeoutMs);
+        List<DashboardStats> results = new ArrayList<>(pending.size());
+        for (Map.Entry<String, Future<DashboardStats>> entry : pending.entrySet()) {
+            String game = entry.getKey();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                DashboardStats stats = entry.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                lastDashboardStats.put(game, stats);
+                results.add(stats);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(fallbackDashboardStats(game));
+            } catch (TimeoutException e) {
+                logger.warn("Dashboard stats for game {} did not complete within {}ms", game, dashboardGameTimeoutMs);
+                // Interrupts the worker; the transaction timeout cancels a query that is still running
+                entry.getValue().cancel(true);
+                results.add(fallbackDashboardStats(game));
+            } catch (ExecutionException e) {
+                logger.error("Error getting dashboard stats for game: {}", game, e.getCause());
+                results.add(fallbackDashboardStats(game));
+            }
+        }
+        return results;
+    }
+
+    // Last known stats for the game marked as stale, or empty stats if it was never computed
+    private DashboardStats fallbackDashboardStats(String game) {
+        DashboardStats last = lastDashboardStats.get(game);
+        if (last != null) {
+            DashboardStats staleStats = new DashboardStats();
+            staleStats.setGame(last.getGame());
+            staleStats.setTotalGames(last.getTotalGames());
+            staleStats.setTotalWins(last.getTotalWins());
+            staleStats.setTotalLosses(last.getTotalLosses());
+            staleStats.setWinRate(last.getWinRate());
+            staleStats.setTotalBetAmount(last.getTotalBetAmount());
+            staleStats.setTotalPayout(last.getTotalPayout());
+            staleStats.setNetRevenue(last.getNetRevenue());
+            staleStats.setAverageBetAmount(last.getAverageBetAmount());
+            staleStats.setAveragePayout(last.getAveragePayout());
+            staleStats.setBetAmountPercentiles(last.getBetAmountPercentiles());
+            staleStats.setPayoutPercentiles(last.getPayoutPercentiles());
+            staleStats.setNetWinPercentiles(last.getNetWinPercentiles());
+            staleStats.setRecentGames(last.getRecentGames());
+            staleStats.setRecentGamesByWindow(last.getRecentGamesByWindow());
+            staleStats.setUniquePlayers(last.getUniquePlayers());
+            staleStats.setUniquePlayersByWindow(last.getUniquePlayersByWindow());
+            staleStats.setTopPlayers(last.getTopPlayers());
+            staleStats.setStale(true);
+            return staleStats;
+        }
+
+        // Return empty stats for this game instead of failing completely
+        DashboardStats emptyStats = new DashboardStats();
+        emptyStats.setGame(game);
+        emptyStats.setTotalGames(0L);
+        emptyStats.setTotalWins(0L);
+        emptyStats.setTotalLosses(0L);
+        emptyStats.setWinRate(0.0);
+        emptyStats.setTotalBetAmount(0.0);
+        emptyStats.setTotalPayout(0.0);
+        emptyStats.setNetRevenue(0.0);
+        emptyStats.setAverageBetAmount(0.0);
+        emptyStats.setAveragePayout(0.0);
+        emptyStats.setRecentGames(0L);
+        emptyStats.setTopPlayers(new ArrayList<>());
+        emptyStats.setStale(true);
+        return emptyStats;
     }
 }
 
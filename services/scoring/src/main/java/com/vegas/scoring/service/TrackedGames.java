@@ -0,0 +1,80 @@
+package com.vegas.scoring.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Games this instance keeps per-game in-memory state for (index boards, sketches, windows, caches).
+// The game name is client-supplied, so only the configured games plus other games as first seen, up to
+// max-tracked in total, are tracked; results for any further game are stored but skip those structures.
+@Component
+public class TrackedGames {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackedGames.class);
+
+    // Shared key for untracked games in structures that aggregate rather than skip them
+    public static final String OTHER = "other";
+
+    private final Set<String> configured = new LinkedHashSet<>();
+    private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+    private volatile boolean overflowLogged;
+
+    @Value("${scoring.games.max-tracked:32}")
+    private int maxTracked;
+
+    @Value("${scoring.games:slots,roulette,dice,blackjack}")
+    private void setConfigured(List<String> games) {
+        configured.clear();
+        for (String game : games) {
+            if (!game.isBlank()) {
+                configured.add(game.trim());
+            }
+        }
+    }
+
+    public Set<String> configured() {
+        return Collections.unmodifiableSet(configured);
+    }
+
+    // Read side: true only for games already tracked, never admits one
+    public boolean isTracked(String game) {
+        return game != null && (configured.contains(game) || admitted.contains(game));
+    }
+
+    // Ingest side: true for tracked games, admitting a new game while the budget lasts
+    public boolean track(String game) {
+        if (game == null) {
+            return false;
+        }
+        if (isTracked(game)) {
+            return true;
+        }
+        synchronized (admitted) {
+            if (admitted.contains(game)) {
+                return true;
+            }
+            if (configured.size() + admitted.size() < maxTracked) {
+                admitted.add(game);
+                logger.info("Tracking game not in scoring.games: game={}", game);
+                return true;
+            }
+        }
+        if (!overflowLogged) {
+            overflowLogged = true;
+            logger.warn("More than {} games seen; further games are stored but not tracked in memory", maxTracked);
+        }
+        return false;
+    }
+
+    // Ingest side: the game itself when tracked, otherwise OTHER
+    public String trackOrOther(String game) {
+        return track(game) ? game : OTHER;
+    }
+}
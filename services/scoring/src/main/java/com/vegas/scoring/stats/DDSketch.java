@@ -0,0 +1,225 @@
+package com.vegas.scoring.stats;
+
+import java.nio.ByteBuffer;
+
+// Mergeable quantile sketch with relative-error guarantees (DDSketch).
+// Values are counted in logarithmic buckets of ratio gamma = (1 + a) / (1 - a), so every quantile is
+// returned within a relative error a (1% by default). Negative values use a mirrored store and
+// near-zero values a zero count. Each store keeps at most maxBins contiguous buckets; beyond that the
+// smallest magnitudes are collapsed, which at 1% accuracy only happens past ~17 orders of magnitude.
+// Not thread-safe; callers synchronize.
+public final class DDSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    public static final int DEFAULT_MAX_BINS = 2048;
+
+    private static final byte FORMAT = 1;
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBins;
+
+    private final Store positive;
+    private final Store negative;
+    private long zeroCount;
+
+    public DDSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BINS);
+    }
+
+    public DDSketch(double relativeAccuracy, int maxBins) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBins = maxBins;
+        this.positive = new Store(maxBins);
+        this.negative = new Store(maxBins);
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        if (value > MIN_INDEXABLE_VALUE) {
+            positive.add(index(value), 1);
+        } else if (value < -MIN_INDEXABLE_VALUE) {
+            negative.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+    }
+
+    public DDSketch merge(DDSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different relative accuracy");
+        }
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        return this;
+    }
+
+    public DDSketch copy() {
+        return new DDSketch(relativeAccuracy, maxBins).merge(this);
+    }
+
+    public long getCount() {
+        return positive.total + negative.total + zeroCount;
+    }
+
+    // Value at quantile q in [0, 1]; NaN when empty
+    public double quantile(double q) {
+        long count = getCount();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (Math.max(0, Math.min(1, q)) * (count - 1));
+        long seen = 0;
+        // Most negative values first: highest index of the negative store
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) {
+                return -value(negative.offset + i);
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < positive.counts.length; i++) {
+            seen += positive.counts[i];
+            if (seen > rank) {
+                return value(positive.offset + i);
+            }
+        }
+        return value(positive.offset + positive.counts.length - 1);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 4 + 8 + negative.serializedSize() + positive.serializedSize());
+        buffer.put(FORMAT).putDouble(relativeAccuracy).putInt(maxBins).putLong(zeroCount);
+        negative.write(buffer);
+        positive.write(buffer);
+        return buffer.array();
+    }
+
+    public static DDSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() != FORMAT) {
+            throw new IllegalArgumentException("Unknown DDSketch format");
+        }
+        DDSketch sketch = new DDSketch(buffer.getDouble(), buffer.getInt());
+        sketch.zeroCount = buffer.getLong();
+        sketch.negative.read(buffer);
+        sketch.positive.read(buffer);
+        return sketch;
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    // Bucket i covers (gamma^(i-1), gamma^i]; this point is within the relative accuracy of both ends
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    // Contiguous bucket counts for indexes [offset, offset + counts.length)
+    private static final class Store {
+        private static final int INITIAL_BINS = 64;
+
+        final int maxBins;
+        long[] counts = new long[0];
+        int offset;
+        long total;
+
+        Store(int maxBins) {
+            this.maxBins = maxBins;
+        }
+
+        void add(int index, long n) {
+            if (counts.length == 0) {
+                counts = new long[Math.min(INITIAL_BINS, maxBins)];
+                offset = index - counts.length / 2;
+            }
+            if (index < offset || index >= offset + counts.length) {
+                extendTo(index);
+            }
+            // Indexes below the kept range were collapsed into the lowest bucket
+            counts[Math.max(index, offset) - offset] += n;
+            total += n;
+        }
+
+        private void extendTo(int index) {
+            int min = Math.min(offset, index);
+            int max = Math.max(offset + counts.length - 1, index);
+            int length = Math.min(maxBins, Math.max(max - min + 1, counts.length * 2));
+            // Grow towards the new index; when capped, keep the largest magnitudes
+            int newOffset = index < offset ? max - length + 1 : Math.min(min, max - length + 1);
+            if (newOffset + length - 1 < max) {
+                newOffset = max - length + 1;
+            }
+            long[] resized = new long[length];
+            for (int i = 0; i < counts.length; i++) {
+                int target = Math.max(offset + i, newOffset) - newOffset;
+                resized[target] += counts[i];
+            }
+            counts = resized;
+            offset = newOffset;
+        }
+
+        void merge(Store other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        // Only the range between the first and last non-empty bucket is written
+        int serializedSize() {
+            return 4 + 4 + 8 * (last() - first() + 1);
+        }
+
+        void write(ByteBuffer buffer) {
+            int first = first();
+            int last = last();
+            buffer.putInt(offset + first).putInt(last - first + 1);
+            for (int i = first; i <= last; i++) {
+                buffer.putLong(counts[i]);
+            }
+        }
+
+        private int first() {
+            int i = 0;
+            while (i < counts.length && counts[i] == 0) {
+                i++;
+            }
+            return i;
+        }
+
+        private int last() {
+            int i = counts.length - 1;
+            while (i >= 0 && counts[i] == 0) {
+                i--;
+            }
+            return i;
+        }
+
+        void read(ByteBuffer buffer) {
+            int storedOffset = buffer.getInt();
+            int length = buffer.getInt();
+            for (int i = 0; i < length; i++) {
+                long count = buffer.getLong();
+                if (count != 0) {
+                    add(storedOffset + i, count);
+                }
+            }
+        }
+    }
+}
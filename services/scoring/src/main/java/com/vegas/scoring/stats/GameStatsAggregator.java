@@ -0,0 +1,146 @@
+package com.vegas.scoring.stats;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.repository.GameStatsJdbcRepository;
+import com.vegas.scoring.service.GameResultListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-game lifetime totals without scanning game_results.
+// Ingest increments local adders; a scheduled checkpoint adds the delta since the previous checkpoint
+// to the shared game_stats row and reloads every game's totals (which include other replicas' deltas).
+// Reads combine the last loaded totals with the local increments not yet checkpointed.
+// Recomputing game_stats from game_results is an offline step with every replica stopped
+// (scripts/rebuild-game-stats.sql): a running replica would checkpoint results the rebuild already counted.
+@Component
+public class GameStatsAggregator implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameStatsAggregator.class);
+
+    // Monotonic local counters; never reset, deltas are taken against the checkpoint marks
+    private static final class Counters {
+        final LongAdder games = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final DoubleAdder betAmount = new DoubleAdder();
+        final DoubleAdder payout = new DoubleAdder();
+    }
+
+    // Totals loaded from game_stats together with the local counter values already included in them
+    private static final class Checkpoint {
+        static final Checkpoint EMPTY = new Checkpoint(GameStatsTotals.ZERO, 0, 0, 0.0, 0.0);
+
+        final GameStatsTotals stored;
+        final long games;
+        final long wins;
+        final double betAmount;
+        final double payout;
+
+        Checkpoint(GameStatsTotals stored, long games, long wins, double betAmount, double payout) {
+            this.stored = stored;
+            this.games = games;
+            this.wins = wins;
+            this.betAmount = betAmount;
+            this.payout = payout;
+        }
+
+        Checkpoint withStored(GameStatsTotals stored) {
+            return new Checkpoint(stored, games, wins, betAmount, payout);
+        }
+    }
+
+    @Autowired
+    private GameStatsJdbcRepository gameStatsRepository;
+
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public void onGameResult(GameResult result) {
+        if (result.getBetAmount() == null || result.getBetAmount() <= 0) {
+            return;
+        }
+        Counters game = counters.computeIfAbsent(result.getGame(), key -> new Counters());
+        game.games.increment();
+        if (Boolean.TRUE.equals(result.getWin())) {
+            game.wins.increment();
+        }
+        game.betAmount.add(result.getBetAmount());
+        game.payout.add(result.getPayout());
+    }
+
+    // False until game_stats has been loaded once; callers fall back to the aggregate queries meanwhile
+    public boolean isReady() {
+        return ready;
+    }
+
+    public GameStatsTotals totals(String game) {
+        Checkpoint checkpoint = checkpoints.getOrDefault(game, Checkpoint.EMPTY);
+        Counters local = counters.get(game);
+        if (local == null) {
+            return checkpoint.stored;
+        }
+        return checkpoint.stored.plus(
+                local.games.sum() - checkpoint.games,
+                local.wins.sum() - checkpoint.wins,
+                local.betAmount.sum() - checkpoint.betAmount,
+                local.payout.sum() - checkpoint.payout);
+    }
+
+    @Scheduled(fixedDelayString = "${scoring.game-stats.flush-interval-ms:5000}")
+    public synchronized void checkpoint() {
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            String game = entry.getKey();
+            Counters local = entry.getValue();
+            Checkpoint previous = checkpoints.getOrDefault(game, Checkpoint.EMPTY);
+
+            long games = local.games.sum();
+            long wins = local.wins.sum();
+            double betAmount = local.betAmount.sum();
+            double payout = local.payout.sum();
+            if (games == previous.games) {
+                continue;
+            }
+            long gamesDelta = games - previous.games;
+            long winsDelta = wins - previous.wins;
+            double betAmountDelta = betAmount - previous.betAmount;
+            double payoutDelta = payout - previous.payout;
+            try {
+                gameStatsRepository.addDelta(game, gamesDelta, winsDelta, betAmountDelta, payoutDelta);
+                // Move the mark right away so a failed reload can never flush the same delta twice
+                checkpoints.put(game, new Checkpoint(
+                        previous.stored.plus(gamesDelta, winsDelta, betAmountDelta, payoutDelta),
+                        games, wins, betAmount, payout));
+            } catch (Exception e) {
+                // Keep the previous mark; the delta is retried on the next checkpoint
+                logger.error("Failed to checkpoint game stats: game={}", game, e);
+            }
+        }
+        reload();
+    }
+
+    // Replace the stored totals with the shared rows, keeping the local marks
+    private void reload() {
+        try {
+            for (Map.Entry<String, GameStatsTotals> stored : gameStatsRepository.findAll().entrySet()) {
+                Checkpoint checkpoint = checkpoints.getOrDefault(stored.getKey(), Checkpoint.EMPTY);
+                checkpoints.put(stored.getKey(), checkpoint.withStored(stored.getValue()));
+            }
+            if (!ready) {
+                ready = true;
+                logger.info("Game stats loaded: games={}", checkpoints.size());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reload game stats", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.vegas.scoring.stats;
+
+// Lifetime totals for one game (results with betAmount > 0)
+public final class GameStatsTotals {
+
+    public static final GameStatsTotals ZERO = new GameStatsTotals(0, 0, 0.0, 0.0);
+
+    private final long totalGames;
+    private final long totalWins;
+    private final double totalBetAmount;
+    private final double totalPayout;
+
+    public GameStatsTotals(long totalGames, long totalWins, double totalBetAmount, double totalPayout) {
+        this.totalGames = totalGames;
+        this.totalWins = totalWins;
+        this.totalBetAmount = totalBetAmount;
+        this.totalPayout = totalPayout;
+    }
+
+    public GameStatsTotals plus(long games, long wins, double betAmount, double payout) {
+        return new GameStatsTotals(totalGames + games, totalWins + wins, totalBetAmount + betAmount, totalPayout + payout);
+    }
+
+    public long getTotalGames() {
+        return totalGames;
+    }
+
+    public long getTotalWins() {
+        return totalWins;
+    }
+
+    public double getTotalBetAmount() {
+        return totalBetAmount;
+    }
+
+    public double getTotalPayout() {
+        return totalPayout;
+    }
+}
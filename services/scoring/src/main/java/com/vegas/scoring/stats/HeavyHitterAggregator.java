@@ -0,0 +1,150 @@
+package com.vegas.scoring.stats;
+
+import com.vegas.scoring.dto.HeavyHitter;
+import com.vegas.scoring.dto.HeavyHittersResponse;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.service.GameResultListener;
+import com.vegas.scoring.service.TrackedGames;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Top spenders (by bet amount) and top winners (by winnings) per game over sliding windows, without
+// scanning game_results. Each configured window is a ring of time slices holding Space-Saving summaries;
+// a query merges the slices still inside the window, so the window moves in steps of one slice.
+// Memory per game is windows x slices x 2 x capacity counters regardless of player count; only tracked games
+// (see TrackedGames) get rings, so other games have no heavy hitters.
+// Counts the results ingested by this instance only.
+@Component
+public class HeavyHitterAggregator implements GameResultListener {
+
+    // Space-Saving summaries for one window of one game
+    private static final class Ring {
+        final long sliceMillis;
+        final long[] sliceIds;
+        final SpaceSaving[] spenders;
+        final SpaceSaving[] winners;
+
+        Ring(Duration window, int slices, int capacity) {
+            this.sliceMillis = Math.max(1, window.toMillis() / slices);
+            this.sliceIds = new long[slices];
+            this.spenders = new SpaceSaving[slices];
+            this.winners = new SpaceSaving[slices];
+            for (int i = 0; i < slices; i++) {
+                sliceIds[i] = -1;
+                spenders[i] = new SpaceSaving(capacity);
+                winners[i] = new SpaceSaving(capacity);
+            }
+        }
+
+        synchronized void add(long now, String username, double betAmount, double winnings) {
+            long sliceId = now / sliceMillis;
+            int slot = (int) (sliceId % sliceIds.length);
+            if (sliceIds[slot] != sliceId) {
+                // The slot last held a slice that has left the window
+                sliceIds[slot] = sliceId;
+                spenders[slot].clear();
+                winners[slot].clear();
+            }
+            spenders[slot].add(username, betAmount);
+            winners[slot].add(username, winnings);
+        }
+
+        synchronized void mergeInto(long now, SpaceSaving spendersOut, SpaceSaving winnersOut) {
+            long current = now / sliceMillis;
+            for (int i = 0; i < sliceIds.length; i++) {
+                if (sliceIds[i] > current - sliceIds.length && sliceIds[i] <= current) {
+                    spendersOut.merge(spenders[i]);
+                    winnersOut.merge(winners[i]);
+                }
+            }
+        }
+    }
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    @Value("${scoring.heavy-hitters.capacity:100}")
+    private int capacity;
+
+    // Slices per window; more slices make the window edge sharper at the cost of memory
+    @Value("${scoring.heavy-hitters.slices:12}")
+    private int slices;
+
+    private final Map<String, Duration> windows = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Ring[]> rings = new ConcurrentHashMap<>();
+
+    @Value("${scoring.heavy-hitters.windows:5m,1h,24h}")
+    private void setWindows(String[] configured) {
+        windows.clear();
+        for (String window : configured) {
+            String label = window.trim();
+            if (!label.isEmpty()) {
+                windows.put(label, DurationStyle.detectAndParse(label));
+            }
+        }
+    }
+
+    @Override
+    public void onGameResult(GameResult result) {
+        if (result.getBetAmount() == null || result.getBetAmount() <= 0 || !trackedGames.track(result.getGame())) {
+            return;
+        }
+        // Winnings only count winning games: Space-Saving weights must be non-negative
+        double winnings = Math.max(0, result.getPayout() - result.getBetAmount());
+        long now = System.currentTimeMillis();
+        for (Ring ring : rings.computeIfAbsent(result.getGame(), game -> newRings())) {
+            ring.add(now, result.getUsername(), result.getBetAmount(), winnings);
+        }
+    }
+
+    // Null when the window is not one of the configured ones
+    public HeavyHittersResponse heavyHitters(String game, Duration window, int limit) {
+        int index = 0;
+        String label = null;
+        for (Map.Entry<String, Duration> configured : windows.entrySet()) {
+            if (configured.getValue().equals(window)) {
+                label = configured.getKey();
+                break;
+            }
+            index++;
+        }
+        if (label == null) {
+            return null;
+        }
+        SpaceSaving spenders = new SpaceSaving(capacity);
+        SpaceSaving winners = new SpaceSaving(capacity);
+        Ring[] gameRings = rings.get(game);
+        if (gameRings != null) {
+            gameRings[index].mergeInto(System.currentTimeMillis(), spenders, winners);
+        }
+        return new HeavyHittersResponse(game, label, window.getSeconds(),
+                toHeavyHitters(spenders.top(limit)), toHeavyHitters(winners.top(limit)));
+    }
+
+    private Ring[] newRings() {
+        Ring[] created = new Ring[windows.size()];
+        int i = 0;
+        for (Duration window : windows.values()) {
+            created[i++] = new Ring(window, slices, capacity);
+        }
+        return created;
+    }
+
+    private static List<HeavyHitter> toHeavyHitters(List<SpaceSaving.Counter> counters) {
+        List<HeavyHitter> heavyHitters = new ArrayList<>(counters.size());
+        for (SpaceSaving.Counter counter : counters) {
+            heavyHitters.add(new HeavyHitter(counter.getKey(), counter.getWeight(), counter.getError()));
+        }
+        return heavyHitters;
+    }
+}
@@ -0,0 +1,158 @@
+package com.vegas.scoring.stats;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.repository.QuantileSketchJdbcRepository;
+import com.vegas.scoring.service.GameResultListener;
+import com.vegas.scoring.service.TrackedGames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Per-game percentiles of bet amount, payout and net win (payout - bet) without scanning game_results.
+// Ingest adds each result to local DDSketches; a scheduled checkpoint merges the sketches of the results
+// since the previous checkpoint into the shared game_quantile_sketches rows and reloads them.
+// Reads merge the last loaded sketch with the local results not yet checkpointed.
+// Each sketch is bounded by DDSketch.DEFAULT_MAX_BINS buckets per sign, independent of the result count,
+// and games that are not tracked (see TrackedGames) share one set of sketches under "other".
+@Component
+public class QuantileAggregator implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuantileAggregator.class);
+
+    public static final String BET_AMOUNT = "bet_amount";
+    public static final String PAYOUT = "payout";
+    public static final String NET_WIN = "net_win";
+
+    private static final String[] METRICS = {BET_AMOUNT, PAYOUT, NET_WIN};
+
+    // Reported quantiles, keyed by their label in the dashboard response
+    private static final Map<String, Double> QUANTILES = new LinkedHashMap<>();
+
+    static {
+        QUANTILES.put("p50", 0.5);
+        QUANTILES.put("p90", 0.9);
+        QUANTILES.put("p99", 0.99);
+        QUANTILES.put("p999", 0.999);
+    }
+
+    // Results ingested since the last checkpoint; one lock per game guards all three sketches
+    private static final class Delta {
+        private Map<String, DDSketch> sketches = emptySketches();
+
+        synchronized void add(double betAmount, double payout) {
+            sketches.get(BET_AMOUNT).add(betAmount);
+            sketches.get(PAYOUT).add(payout);
+            sketches.get(NET_WIN).add(payout - betAmount);
+        }
+
+        synchronized Map<String, DDSketch> drain() {
+            Map<String, DDSketch> drained = sketches;
+            sketches = emptySketches();
+            return drained;
+        }
+
+        // Put back a delta that could not be written
+        synchronized void restore(String metric, DDSketch failed) {
+            sketches.get(metric).merge(failed);
+        }
+
+        synchronized DDSketch copy(String metric) {
+            return sketches.get(metric).copy();
+        }
+
+        private static Map<String, DDSketch> emptySketches() {
+            Map<String, DDSketch> sketches = new LinkedHashMap<>();
+            for (String metric : METRICS) {
+                sketches.put(metric, new DDSketch());
+            }
+            return sketches;
+        }
+    }
+
+    @Autowired
+    private QuantileSketchJdbcRepository sketchRepository;
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    private final ConcurrentMap<String, Delta> deltas = new ConcurrentHashMap<>();
+    // Last loaded shared sketches (game -> metric -> sketch); published sketches are never mutated
+    private final ConcurrentMap<String, ConcurrentMap<String, DDSketch>> stored = new ConcurrentHashMap<>();
+
+    @Override
+    public void onGameResult(GameResult result) {
+        if (result.getBetAmount() == null || result.getBetAmount() <= 0) {
+            return;
+        }
+        deltas.computeIfAbsent(trackedGames.trackOrOther(result.getGame()), key -> new Delta())
+                .add(result.getBetAmount(), result.getPayout());
+    }
+
+    // {"p50": .., "p90": .., "p99": .., "p999": ..}, or empty when the game has no results yet
+    public Map<String, Double> percentiles(String game, String metric) {
+        DDSketch sketch = new DDSketch();
+        Map<String, DDSketch> shared = stored.get(game);
+        if (shared != null && shared.get(metric) != null) {
+            sketch.merge(shared.get(metric));
+        }
+        Delta local = deltas.get(game);
+        if (local != null) {
+            sketch.merge(local.copy(metric));
+        }
+        if (sketch.getCount() == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> quantile : QUANTILES.entrySet()) {
+            percentiles.put(quantile.getKey(), sketch.quantile(quantile.getValue()));
+        }
+        return percentiles;
+    }
+
+    @Scheduled(fixedDelayString = "${scoring.quantiles.flush-interval-ms:10000}")
+    public synchronized void checkpoint() {
+        for (Map.Entry<String, Delta> entry : deltas.entrySet()) {
+            String game = entry.getKey();
+            for (Map.Entry<String, DDSketch> drained : entry.getValue().drain().entrySet()) {
+                String metric = drained.getKey();
+                DDSketch delta = drained.getValue();
+                if (delta.getCount() == 0) {
+                    continue;
+                }
+                try {
+                    sketchRepository.merge(game, metric, delta);
+                    // Include the delta right away so reads do not dip until the reload below
+                    ConcurrentMap<String, DDSketch> sketches = stored.computeIfAbsent(game, key -> new ConcurrentHashMap<>());
+                    DDSketch previous = sketches.get(metric);
+                    sketches.put(metric, previous != null ? previous.copy().merge(delta) : delta);
+                } catch (Exception e) {
+                    entry.getValue().restore(metric, delta);
+                    logger.error("Failed to checkpoint quantile sketch, will retry: game={}, metric={}", game, metric, e);
+                }
+            }
+        }
+        reload();
+    }
+
+    private void reload() {
+        try {
+            for (Map.Entry<String, Map<String, DDSketch>> game : sketchRepository.findAll().entrySet()) {
+                // Rows of games this instance does not track (other replicas may have admitted them) stay in the table
+                if (!trackedGames.isTracked(game.getKey()) && !TrackedGames.OTHER.equals(game.getKey())) {
+                    continue;
+                }
+                stored.computeIfAbsent(game.getKey(), key -> new ConcurrentHashMap<>()).putAll(game.getValue());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reload quantile sketches", e);
+        }
+    }
+}
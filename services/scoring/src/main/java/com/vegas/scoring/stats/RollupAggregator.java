@@ -0,0 +1,272 @@
+package com.vegas.scoring.stats;
+
+import com.vegas.scoring.dto.TimeseriesPoint;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.repository.GameStatsRollupJdbcRepository;
+import com.vegas.scoring.service.GameResultListener;
+import com.vegas.scoring.service.TrackedGames;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Minute/hour/day trends per game without rescanning game_results.
+// Ingest folds each result into an in-memory minute bucket; closed minutes are added to game_stats_rollup,
+// and a compaction job rebuilds hour buckets from minutes and day buckets from hours.
+// Games that are not tracked (see TrackedGames) are rolled up together under "other".
+@Component
+public class RollupAggregator implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupAggregator.class);
+
+    private static final class BucketKey {
+        final String game;
+        final LocalDateTime start;
+
+        BucketKey(String game, LocalDateTime start) {
+            this.game = game;
+            this.start = start;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey other = (BucketKey) o;
+            return game.equals(other.game) && start.equals(other.start);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(game, start);
+        }
+    }
+
+    private static final class Bucket {
+        final LongAdder games = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final DoubleAdder betAmount = new DoubleAdder();
+        final DoubleAdder payout = new DoubleAdder();
+        final HyperLogLog players = new HyperLogLog();
+    }
+
+    @Autowired
+    private GameStatsRollupJdbcRepository rollupRepository;
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    // How long after a minute ends before it is considered closed and written
+    @Value("${scoring.rollup.close-grace-ms:5000}")
+    private long closeGraceMs;
+
+    @Value("${scoring.rollup.minute-retention-days:7}")
+    private int minuteRetentionDays;
+
+    @Value("${scoring.rollup.hour-retention-days:90}")
+    private int hourRetentionDays;
+
+    // Unwritten buckets kept while the database is unavailable; beyond this the oldest are dropped
+    @Value("${scoring.rollup.max-pending-buckets:50000}")
+    private int maxPendingBuckets;
+
+    private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    // Ingest updates buckets under the read lock; a flush removes closed buckets under the write lock,
+    // so no update can land in a bucket after it has been taken out and summed
+    private final ReadWriteLock bucketLock = new ReentrantReadWriteLock();
+    // Rows that failed to write; retried on the next flush
+    private final List<RollupRow> pending = new ArrayList<>();
+
+    @Override
+    public void onGameResult(GameResult result) {
+        if (result.getBetAmount() == null || result.getBetAmount() <= 0) {
+            return;
+        }
+        LocalDateTime minute = result.getTimestamp().truncatedTo(ChronoUnit.MINUTES);
+        BucketKey bucketKey = new BucketKey(trackedGames.trackOrOther(result.getGame()), minute);
+        bucketLock.readLock().lock();
+        try {
+            Bucket bucket = buckets.computeIfAbsent(bucketKey, key -> new Bucket());
+            bucket.games.increment();
+            if (Boolean.TRUE.equals(result.getWin())) {
+                bucket.wins.increment();
+            }
+            bucket.betAmount.add(result.getBetAmount());
+            bucket.payout.add(result.getPayout());
+            bucket.players.add(result.getUsername());
+        } finally {
+            bucketLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scoring.rollup.flush-interval-ms:10000}")
+    public void flush() {
+        flushBuckets(LocalDateTime.now().minus(Duration.ofMillis(closeGraceMs)).minusMinutes(1));
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flushBuckets(LocalDateTime.MAX);
+    }
+
+    // Write every bucket that started before `closedBefore`. A result that arrives for a bucket after it
+    // was written starts a new bucket for the same minute, which is added to the stored row later.
+    private synchronized void flushBuckets(LocalDateTime closedBefore) {
+        Map<BucketKey, Bucket> closed = new LinkedHashMap<>();
+        bucketLock.writeLock().lock();
+        try {
+            for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+                if (entry.getKey().start.isBefore(closedBefore)) {
+                    closed.put(entry.getKey(), entry.getValue());
+                }
+            }
+            buckets.keySet().removeAll(closed.keySet());
+        } finally {
+            bucketLock.writeLock().unlock();
+        }
+
+        // Folded by bucket: a rewritten multi-row upsert cannot touch the same key twice
+        Map<BucketKey, RollupRow> folded = new LinkedHashMap<>();
+        for (RollupRow row : pending) {
+            fold(folded, row);
+        }
+        for (Map.Entry<BucketKey, Bucket> entry : closed.entrySet()) {
+            BucketKey key = entry.getKey();
+            Bucket bucket = entry.getValue();
+            fold(folded, new RollupRow(key.game, key.start, bucket.games.sum(), bucket.wins.sum(),
+                    bucket.betAmount.sum(), bucket.payout.sum(), bucket.players.estimate(), bucket.players));
+        }
+        if (folded.isEmpty()) {
+            return;
+        }
+        List<RollupRow> rows = new ArrayList<>(folded.values());
+        try {
+            rollupRepository.addMinuteBuckets(rows);
+            pending.clear();
+        } catch (Exception e) {
+            pending.clear();
+            // Oldest first: earlier pending rows come before this flush's buckets
+            int dropped = Math.max(0, rows.size() - maxPendingBuckets);
+            pending.addAll(rows.subList(dropped, rows.size()));
+            logger.error("Failed to write rollup buckets, will retry: buckets={}, dropped={}", pending.size(), dropped, e);
+        }
+    }
+
+    private static void fold(Map<BucketKey, RollupRow> folded, RollupRow row) {
+        folded.merge(new BucketKey(row.getGame(), row.getBucketStart()), row, (a, b) -> {
+            HyperLogLog players = a.getPlayers().copy().merge(b.getPlayers());
+            return new RollupRow(a.getGame(), a.getBucketStart(), a.getGames() + b.getGames(), a.getWins() + b.getWins(),
+                    a.getBetAmount() + b.getBetAmount(), a.getPayout() + b.getPayout(), players.estimate(), players);
+        });
+    }
+
+    // Idempotent, so every instance may run it; the recent window covers minutes written late
+    @Scheduled(fixedDelayString = "${scoring.rollup.compaction-interval-ms:60000}")
+    public void compact() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime hour = now.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = now.truncatedTo(ChronoUnit.DAYS);
+            rollupRepository.compact(GameStatsRollupJdbcRepository.MINUTE, GameStatsRollupJdbcRepository.HOUR,
+                    hour.minusHours(2), hour.plusHours(1));
+            rollupRepository.compact(GameStatsRollupJdbcRepository.HOUR, GameStatsRollupJdbcRepository.DAY,
+                    day.minusDays(1), day.plusDays(1));
+            rollupRepository.deleteOlderThan(GameStatsRollupJdbcRepository.MINUTE, day.minusDays(minuteRetentionDays));
+            rollupRepository.deleteOlderThan(GameStatsRollupJdbcRepository.HOUR, day.minusDays(hourRetentionDays));
+        } catch (Exception e) {
+            logger.error("Failed to compact rollup buckets", e);
+        }
+    }
+
+    // Buckets of `step` aligned to the epoch, read from the coarsest stored resolution that divides the step.
+    // Only closed minutes are included (roughly one minute behind).
+    public List<TimeseriesPoint> timeseries(String game, LocalDateTime from, LocalDateTime to, Duration step) {
+        String resolution = resolutionFor(step);
+        long stepSeconds = step.getSeconds();
+        long fromEpoch = from.toEpochSecond(ZoneOffset.UTC);
+        LocalDateTime alignedFrom = LocalDateTime.ofEpochSecond(fromEpoch - Math.floorMod(fromEpoch, stepSeconds), 0, ZoneOffset.UTC);
+
+        Map<LocalDateTime, TimeseriesPoint> points = new TreeMap<>();
+        Map<LocalDateTime, HyperLogLog> players = new HashMap<>();
+        for (RollupRow row : rollupRepository.findRange(game, resolution, alignedFrom, to)) {
+            long epoch = row.getBucketStart().toEpochSecond(ZoneOffset.UTC);
+            LocalDateTime bucketStart = LocalDateTime.ofEpochSecond(epoch - Math.floorMod(epoch, stepSeconds), 0, ZoneOffset.UTC);
+            TimeseriesPoint point = points.computeIfAbsent(bucketStart, start -> new TimeseriesPoint(start, 0L, 0L, 0.0, 0.0, 0L));
+            point.setGames(point.getGames() + row.getGames());
+            point.setWins(point.getWins() + row.getWins());
+            point.setBetAmount(point.getBetAmount() + row.getBetAmount());
+            point.setPayout(point.getPayout() + row.getPayout());
+            // Buckets stored without a sketch only give a lower bound
+            point.setActivePlayers(Math.max(point.getActivePlayers(), row.getActivePlayers()));
+            if (row.getPlayers() != null) {
+                players.merge(bucketStart, row.getPlayers(), HyperLogLog::merge);
+            }
+        }
+        for (Map.Entry<LocalDateTime, HyperLogLog> union : players.entrySet()) {
+            TimeseriesPoint point = points.get(union.getKey());
+            point.setActivePlayers(Math.max(point.getActivePlayers(), union.getValue().estimate()));
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    // Distinct players in roughly the last `window`: stored buckets of a resolution suited to the window
+    // (the window start is rounded down to a bucket boundary) plus this instance's unwritten minutes
+    public long uniquePlayers(String game, Duration window) {
+        LocalDateTime now = LocalDateTime.now();
+        String resolution;
+        ChronoUnit unit;
+        if (window.compareTo(Duration.ofHours(3)) <= 0) {
+            resolution = GameStatsRollupJdbcRepository.MINUTE;
+            unit = ChronoUnit.MINUTES;
+        } else if (window.compareTo(Duration.ofDays(3)) <= 0) {
+            resolution = GameStatsRollupJdbcRepository.HOUR;
+            unit = ChronoUnit.HOURS;
+        } else {
+            resolution = GameStatsRollupJdbcRepository.DAY;
+            unit = ChronoUnit.DAYS;
+        }
+        LocalDateTime from = now.minus(window).truncatedTo(unit);
+        HyperLogLog union = rollupRepository.unionPlayers(game, resolution, from, now.plusMinutes(1));
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            if (entry.getKey().game.equals(game) && !entry.getKey().start.isBefore(from)) {
+                union.merge(entry.getValue().players);
+            }
+        }
+        return union.estimate();
+    }
+
+    public static String resolutionFor(Duration step) {
+        if (step.getSeconds() % Duration.ofDays(1).getSeconds() == 0) {
+            return GameStatsRollupJdbcRepository.DAY;
+        }
+        if (step.getSeconds() % Duration.ofHours(1).getSeconds() == 0) {
+            return GameStatsRollupJdbcRepository.HOUR;
+        }
+        return GameStatsRollupJdbcRepository.MINUTE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.vegas.scoring.stats;
+
+import java.time.LocalDateTime;
+
+// One game_stats_rollup bucket
+public final class RollupRow {
+
+    private final String game;
+    private final LocalDateTime bucketStart;
+    private final long games;
+    private final long wins;
+    private final double betAmount;
+    private final double payout;
+    private final long activePlayers;
+    private final HyperLogLog players; // Null for buckets stored before sketches were kept
+
+    public RollupRow(String game, LocalDateTime bucketStart, long games, long wins,
+                     double betAmount, double payout, long activePlayers, HyperLogLog players) {
+        this.game = game;
+        this.bucketStart = bucketStart;
+        this.games = games;
+        this.wins = wins;
+        this.betAmount = betAmount;
+        this.payout = payout;
+        this.activePlayers = activePlayers;
+        this.players = players;
+    }
+
+    public String getGame() {
+        return game;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getBetAmount() {
+        return betAmount;
+    }
+
+    public double getPayout() {
+        return payout;
+    }
+
+    public long getActivePlayers() {
+        return activePlayers;
+    }
+
+    public HyperLogLog getPlayers() {
+        return players;
+    }
+}
@@ -0,0 +1,428 @@
+package com.vegas.scoring.stats;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.service.GameResultListener;
+import com.vegas.scoring.service.TrackedGames;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Return-to-player (payout / bet) per game over the last N results and over sliding time windows,
+// and per action for the games where the action changes the odds (e.g. blackjack double vs stand).
+// Each result updates a handful of running sums, so ingest work is O(1) per window. Only tracked games
+// (see TrackedGames) are monitored: game names are client-supplied, and mixing games would blur their RTP.
+//
+// A window is out of band when its RTP differs from the target by more than z standard errors, where
+// the standard error of the ratio is sqrt(sum((payout - target * bet)^2)) / sum(bet). The target is
+// configured per game (or game:action), or else the monitored key's own RTP since startup.
+// Transitions in and out of band are logged, counted and recorded as scoring.rtp.drift spans.
+@Component
+public class RtpMonitor implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RtpMonitor.class);
+
+    private static final String ALL_ACTIONS = "all";
+
+    private static final AttributeKey<String> GAME = AttributeKey.stringKey("game");
+    private static final AttributeKey<String> ACTION = AttributeKey.stringKey("action");
+    private static final AttributeKey<String> WINDOW = AttributeKey.stringKey("window");
+    private static final AttributeKey<String> DIRECTION = AttributeKey.stringKey("direction");
+
+    // Running sums of one set of results
+    private static final class Moments {
+        long count;
+        double bet;
+        double payout;
+        double betSquared;
+        double payoutSquared;
+        double betPayout;
+
+        void add(double b, double p) {
+            count++;
+            bet += b;
+            payout += p;
+            betSquared += b * b;
+            payoutSquared += p * p;
+            betPayout += b * p;
+        }
+
+        void subtract(double b, double p) {
+            count--;
+            bet -= b;
+            payout -= p;
+            betSquared -= b * b;
+            payoutSquared -= p * p;
+            betPayout -= b * p;
+        }
+
+        void addAll(Moments other) {
+            count += other.count;
+            bet += other.bet;
+            payout += other.payout;
+            betSquared += other.betSquared;
+            payoutSquared += other.payoutSquared;
+            betPayout += other.betPayout;
+        }
+
+        void clear() {
+            count = 0;
+            bet = 0;
+            payout = 0;
+            betSquared = 0;
+            payoutSquared = 0;
+            betPayout = 0;
+        }
+
+        double rtp() {
+            return bet > 0 ? payout / bet : Double.NaN;
+        }
+
+        // Standard error of payout / bet around `target`
+        double standardError(double target) {
+            double residuals = payoutSquared - 2 * target * betPayout + target * target * betSquared;
+            return Math.sqrt(Math.max(0, residuals)) / bet;
+        }
+    }
+
+    private interface Window {
+        void add(long now, double bet, double payout);
+
+        // Sums of the results currently inside the window
+        Moments current(long now);
+    }
+
+    // The last `size` results, kept in a ring; sums are recomputed on every wrap to shed rounding drift
+    private static final class CountWindow implements Window {
+        final double[] bets;
+        final double[] payouts;
+        final Moments total = new Moments();
+        int next;
+        boolean full;
+
+        CountWindow(int size) {
+            this.bets = new double[size];
+            this.payouts = new double[size];
+        }
+
+        @Override
+        public void add(long now, double bet, double payout) {
+            if (full) {
+                total.subtract(bets[next], payouts[next]);
+            }
+            bets[next] = bet;
+            payouts[next] = payout;
+            total.add(bet, payout);
+            if (++next == bets.length) {
+                next = 0;
+                full = true;
+                total.clear();
+                for (int i = 0; i < bets.length; i++) {
+                    total.add(bets[i], payouts[i]);
+                }
+            }
+        }
+
+        @Override
+        public Moments current(long now) {
+            return total;
+        }
+    }
+
+    // A time window split into slices; a slice is dropped once it is entirely older than the window,
+    // so the covered span varies between (slices - 1) and slices slice lengths
+    private static final class TimeWindow implements Window {
+        final long sliceMillis;
+        final long[] sliceIds;
+        final Moments[] slices;
+        final Moments total = new Moments();
+        long expiredThrough = Long.MIN_VALUE;
+
+        TimeWindow(Duration window, int sliceCount) {
+            this.sliceMillis = Math.max(1, window.toMillis() / sliceCount);
+            this.sliceIds = new long[sliceCount];
+            this.slices = new Moments[sliceCount];
+            for (int i = 0; i < sliceCount; i++) {
+                sliceIds[i] = -1;
+                slices[i] = new Moments();
+            }
+        }
+
+        @Override
+        public void add(long now, double bet, double payout) {
+            long sliceId = now / sliceMillis;
+            expire(sliceId);
+            int slot = (int) (sliceId % sliceIds.length);
+            if (sliceIds[slot] != sliceId) {
+                sliceIds[slot] = sliceId;
+                slices[slot].clear();
+            }
+            slices[slot].add(bet, payout);
+            total.add(bet, payout);
+        }
+
+        @Override
+        public Moments current(long now) {
+            expire(now / sliceMillis);
+            return total;
+        }
+
+        // Each slice expires once, so this is amortized O(1); the total is rebuilt only when one does
+        private void expire(long currentSlice) {
+            long oldestLive = currentSlice - sliceIds.length + 1;
+            if (expiredThrough >= oldestLive - 1) {
+                return;
+            }
+            boolean changed = false;
+            for (int slot = 0; slot < sliceIds.length; slot++) {
+                if (sliceIds[slot] >= 0 && sliceIds[slot] < oldestLive) {
+                    sliceIds[slot] = -1;
+                    slices[slot].clear();
+                    changed = true;
+                }
+            }
+            if (changed) {
+                total.clear();
+                for (Moments slice : slices) {
+                    total.addAll(slice);
+                }
+            }
+            expiredThrough = oldestLive - 1;
+        }
+    }
+
+    // Every window of one game or game/action pair
+    private final class Monitor {
+        final String game;
+        final String action;
+        final Double configuredTarget;
+        final Moments lifetime = new Moments();
+        final Map<String, Window> windows = new LinkedHashMap<>();
+        final Set<String> outOfBand = new HashSet<>();
+
+        Monitor(String game, String action) {
+            this.game = game;
+            this.action = action;
+            Double target = targets.get(game + ":" + action);
+            this.configuredTarget = target != null ? target : (ALL_ACTIONS.equals(action) ? targets.get(game) : null);
+            windows.put("last_" + spinWindow, new CountWindow(spinWindow));
+            for (Map.Entry<String, Duration> window : timeWindows.entrySet()) {
+                windows.put(window.getKey(), new TimeWindow(window.getValue(), slices));
+            }
+        }
+
+        synchronized void add(long now, double bet, double payout) {
+            lifetime.add(bet, payout);
+            for (Map.Entry<String, Window> window : windows.entrySet()) {
+                window.getValue().add(now, bet, payout);
+                check(window.getKey(), window.getValue().current(now));
+            }
+        }
+
+        double target() {
+            return configuredTarget != null ? configuredTarget : lifetime.rtp();
+        }
+
+        private void check(String window, Moments moments) {
+            double target = target();
+            if (moments.count < minSamples || Double.isNaN(target)) {
+                return;
+            }
+            double rtp = moments.rtp();
+            double margin = zScore * moments.standardError(target);
+            boolean out = rtp < target - margin || rtp > target + margin;
+            if (out == outOfBand.contains(window)) {
+                return;
+            }
+            if (out) {
+                outOfBand.add(window);
+            } else {
+                outOfBand.remove(window);
+            }
+            alert(this, window, out, rtp, target, margin, moments.count);
+        }
+    }
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    @Autowired
+    @Qualifier("tracer")
+    private Tracer tracer;
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    @Value("${scoring.rtp.spin-window:1000}")
+    private int spinWindow;
+
+    @Value("${scoring.rtp.slices:60}")
+    private int slices;
+
+    // Width of the band in standard errors
+    @Value("${scoring.rtp.z-score:3.0}")
+    private double zScore;
+
+    // Windows with fewer results are not checked
+    @Value("${scoring.rtp.min-samples:200}")
+    private long minSamples;
+
+    @Value("${scoring.rtp.max-actions-per-game:16}")
+    private int maxActionsPerGame;
+
+    private final Map<String, Duration> timeWindows = new LinkedHashMap<>();
+    private final Map<String, Double> targets = new HashMap<>();
+    private final Set<String> actionGames = new HashSet<>();
+
+    // game -> action (or "all") -> monitor
+    private final ConcurrentMap<String, ConcurrentMap<String, Monitor>> monitors = new ConcurrentHashMap<>();
+
+    private LongCounter alertCounter;
+
+    @Value("${scoring.rtp.time-windows:5m,1h}")
+    private void setTimeWindows(String[] windows) {
+        timeWindows.clear();
+        for (String window : windows) {
+            String label = window.trim();
+            if (!label.isEmpty()) {
+                timeWindows.put(label, DurationStyle.detectAndParse(label));
+            }
+        }
+    }
+
+    // game=rtp or game:action=rtp, e.g. slots=0.95,blackjack:double=0.99
+    @Value("${scoring.rtp.targets:}")
+    private void setTargets(String[] configured) {
+        targets.clear();
+        for (String entry : configured) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                targets.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    @Value("${scoring.rtp.action-games:blackjack}")
+    private void setActionGames(String[] games) {
+        actionGames.clear();
+        for (String game : games) {
+            if (!game.trim().isEmpty()) {
+                actionGames.add(game.trim());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        meter.gaugeBuilder("scoring.rtp")
+                .setDescription("Return to player (payout / bet) per game, action and window")
+                .setUnit("1")
+                .buildWithCallback(measurement -> forEachWindow((monitor, window, moments) -> {
+                    if (moments.count > 0) {
+                        measurement.record(moments.rtp(), attributes(monitor, window));
+                    }
+                }));
+        meter.gaugeBuilder("scoring.rtp.out_of_band")
+                .ofLongs()
+                .setDescription("1 while the window's RTP is outside the confidence band around its target")
+                .setUnit("1")
+                .buildWithCallback(measurement -> forEachWindow((monitor, window, moments) -> {
+                    measurement.record(monitor.outOfBand.contains(window) ? 1 : 0, attributes(monitor, window));
+                }));
+        alertCounter = meter.counterBuilder("scoring.rtp.alerts")
+                .setDescription("RTP windows leaving their confidence band, by direction")
+                .setUnit("{alert}")
+                .build();
+    }
+
+    @Override
+    public void onGameResult(GameResult result) {
+        if (result.getBetAmount() == null || result.getBetAmount() <= 0 || !trackedGames.track(result.getGame())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        ConcurrentMap<String, Monitor> gameMonitors = monitors.computeIfAbsent(result.getGame(), game -> new ConcurrentHashMap<>());
+        gameMonitors.computeIfAbsent(ALL_ACTIONS, action -> new Monitor(result.getGame(), action))
+                .add(now, result.getBetAmount(), result.getPayout());
+
+        String action = result.getAction();
+        if (action == null || !actionGames.contains(result.getGame()) || ALL_ACTIONS.equals(action)) {
+            return;
+        }
+        Monitor actionMonitor = gameMonitors.get(action);
+        if (actionMonitor == null) {
+            // Actions come from clients; cap them so a misbehaving client cannot grow the map or metric series
+            if (gameMonitors.size() - 1 >= maxActionsPerGame) {
+                return;
+            }
+            actionMonitor = gameMonitors.computeIfAbsent(action, key -> new Monitor(result.getGame(), key));
+        }
+        actionMonitor.add(now, result.getBetAmount(), result.getPayout());
+    }
+
+    private void alert(Monitor monitor, String window, boolean out, double rtp, double target, double margin, long samples) {
+        String direction = !out ? "recovered" : rtp < target ? "low" : "high";
+        if (out) {
+            logger.warn("RTP out of band: game={}, action={}, window={}, rtp={}, target={}, band=+/-{}, samples={}",
+                    monitor.game, monitor.action, window, rtp, target, margin, samples);
+            alertCounter.add(1, attributes(monitor, window).toBuilder().put(DIRECTION, direction).build());
+        } else {
+            logger.info("RTP back in band: game={}, action={}, window={}, rtp={}, target={}, band=+/-{}, samples={}",
+                    monitor.game, monitor.action, window, rtp, target, margin, samples);
+        }
+        Span span = tracer.spanBuilder("scoring.rtp.drift")
+                .setSpanKind(SpanKind.INTERNAL)
+                .setAttribute("scoring.game", monitor.game)
+                .setAttribute("scoring.action", monitor.action)
+                .setAttribute("scoring.rtp.window", window)
+                .setAttribute("scoring.rtp.direction", direction)
+                .setAttribute("scoring.rtp.value", rtp)
+                .setAttribute("scoring.rtp.target", target)
+                .setAttribute("scoring.rtp.band", margin)
+                .setAttribute("scoring.rtp.samples", samples)
+                .startSpan();
+        span.end();
+    }
+
+    private interface WindowVisitor {
+        void visit(Monitor monitor, String window, Moments moments);
+    }
+
+    private void forEachWindow(WindowVisitor visitor) {
+        long now = System.currentTimeMillis();
+        for (ConcurrentMap<String, Monitor> gameMonitors : monitors.values()) {
+            for (Monitor monitor : gameMonitors.values()) {
+                synchronized (monitor) {
+                    for (Map.Entry<String, Window> window : monitor.windows.entrySet()) {
+                        visitor.visit(monitor, window.getKey(), window.getValue().current(now));
+                    }
+                }
+            }
+        }
+    }
+
+    private static Attributes attributes(Monitor monitor, String window) {
+        return Attributes.of(GAME, monitor.game, ACTION, monitor.action, WINDOW, window);
+    }
+}
@@ -0,0 +1,163 @@
+package com.vegas.scoring.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Weighted Space-Saving summary: the heaviest keys of a stream in a fixed number of counters.
+// Every key whose total weight exceeds (stream weight / capacity) is guaranteed to be tracked, and a
+// tracked key's weight overestimates its true weight by at most its error. Counters sit in a min-heap
+// so an update is O(log capacity). Not thread-safe; callers synchronize.
+public final class SpaceSaving {
+
+    public static final class Counter {
+        private final String key;
+        private double weight;
+        private double error;
+        private int heapIndex;
+
+        Counter(String key, double weight, double error) {
+            this.key = key;
+            this.weight = weight;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public double getError() {
+            return error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    // Non-positive weights are ignored
+    public void add(String key, double weight) {
+        if (!(weight > 0)) {
+            return;
+        }
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.weight += weight;
+            siftDown(counter.heapIndex);
+        } else if (size < capacity) {
+            insert(new Counter(key, weight, 0));
+        } else {
+            // Replace the lightest key; the newcomer inherits its weight as the error bound
+            Counter evicted = heap[0];
+            counters.remove(evicted.key);
+            counter = new Counter(key, evicted.weight + weight, evicted.weight);
+            counter.heapIndex = 0;
+            heap[0] = counter;
+            counters.put(key, counter);
+            siftDown(0);
+        }
+    }
+
+    // Combine with another summary (Agarwal et al.): a key missing from a full summary may have had up to
+    // that summary's minimum weight, which is added to both its weight and its error. Keeps the heaviest keys.
+    public SpaceSaving merge(SpaceSaving other) {
+        double ourMin = size == capacity ? heap[0].weight : 0;
+        double theirMin = other.size == other.capacity ? other.heap[0].weight : 0;
+        Map<String, Counter> combined = new HashMap<>();
+        for (Counter ours : counters.values()) {
+            Counter theirs = other.counters.get(ours.key);
+            combined.put(ours.key, new Counter(ours.key,
+                    ours.weight + (theirs != null ? theirs.weight : theirMin),
+                    ours.error + (theirs != null ? theirs.error : theirMin)));
+        }
+        for (Counter theirs : other.counters.values()) {
+            if (!counters.containsKey(theirs.key)) {
+                combined.put(theirs.key, new Counter(theirs.key, theirs.weight + ourMin, theirs.error + ourMin));
+            }
+        }
+        List<Counter> heaviest = new ArrayList<>(combined.values());
+        heaviest.sort(Comparator.comparingDouble(Counter::getWeight).reversed());
+        counters.clear();
+        size = 0;
+        for (Counter counter : heaviest.subList(0, Math.min(capacity, heaviest.size()))) {
+            insert(counter);
+        }
+        return this;
+    }
+
+    // Up to `limit` tracked keys, heaviest first
+    public List<Counter> top(int limit) {
+        List<Counter> top = new ArrayList<>(counters.values());
+        top.sort(Comparator.comparingDouble(Counter::getWeight).reversed());
+        return new ArrayList<>(top.subList(0, Math.min(limit, top.size())));
+    }
+
+    public void clear() {
+        counters.clear();
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    private void insert(Counter counter) {
+        counter.heapIndex = size;
+        heap[size++] = counter;
+        counters.put(counter.key, counter);
+        siftUp(counter.heapIndex);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].weight <= heap[index].weight) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && heap[left].weight < heap[smallest].weight) {
+                smallest = left;
+            }
+            if (right < size && heap[right].weight < heap[smallest].weight) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Counter counter = heap[a];
+        heap[a] = heap[b];
+        heap[b] = counter;
+        heap[a].heapIndex = a;
+        heap[b].heapIndex = b;
+    }
+}
@@ -0,0 +1,438 @@
+package com.vegas.scoring.stream;
+
+import com.vegas.scoring.dto.DashboardStats;
+import com.vegas.scoring.dto.LeaderboardUpdate;
+import com.vegas.scoring.dto.ScoreResponse;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.model.PlayerScore;
+import com.vegas.scoring.service.GameResultListener;
+import com.vegas.scoring.service.ScoringService;
+import com.vegas.scoring.service.TrackedGames;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Server-sent events for GET /api/scoring/stream/{game}.
+// Idle subscribers only hold an async SseEmitter (no thread). Game results just mark the game dirty;
+// a scheduled tick hands each subscribed game to the snapshot pool, which rebuilds one snapshot per dirty
+// game (at most one build per game at a time) and sends each subscriber the change since the
+// snapshot it last received, at most once per min-interval. A subscriber has at most one send in flight:
+// while it is busy newer snapshots replace older ones instead of queueing, and a send that stays in
+// flight longer than the slow-consumer timeout drops the subscriber.
+// Sends are blocking servlet writes, bounded by the connector's write timeout (server.tomcat.connection-timeout):
+// a send thread stuck on a client that stopped reading is freed when its write times out.
+// SseEmitter.complete() waits for a send in progress (both hold the emitter's monitor), so an emitter is only
+// completed by whoever holds its in-flight slot: scheduled ticks never wait on a stuck write.
+@Component
+public class LiveUpdateBroadcaster implements GameResultListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateBroadcaster.class);
+
+    private static final String ALL_GAMES = "all";
+
+    private static final AttributeKey<String> REASON = AttributeKey.stringKey("reason");
+    private static final AttributeKey<String> EVENT = AttributeKey.stringKey("event");
+
+    // ScoringService notifies this listener, so it can only be resolved lazily
+    @Autowired
+    @Lazy
+    private ScoringService scoringService;
+
+    @Autowired
+    private TrackedGames trackedGames;
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    @Value("${scoring.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${scoring.stream.min-interval-ms:1000}")
+    private long minIntervalMs;
+
+    @Value("${scoring.stream.snapshot-max-age-ms:5000}")
+    private long snapshotMaxAgeMs;
+
+    @Value("${scoring.stream.slow-consumer-timeout-ms:10000}")
+    private long slowConsumerTimeoutMs;
+
+    @Value("${scoring.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${scoring.stream.leaderboard-size:10}")
+    private int leaderboardSize;
+
+    @Value("${scoring.stream.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${scoring.stream.snapshot-threads:2}")
+    private int snapshotThreads;
+
+    // Immutable view of one game; subscribers remember the last one they were sent
+    private static final class Snapshot {
+        final List<ScoreResponse> leaderboard;
+        final DashboardStats stats;
+        final long builtAt;
+
+        Snapshot(List<ScoreResponse> leaderboard, DashboardStats stats, long builtAt) {
+            this.leaderboard = leaderboard;
+            this.stats = stats;
+            this.builtAt = builtAt;
+        }
+    }
+
+    private static final class Subscriber {
+        final String game;
+        final SseEmitter emitter;
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        volatile boolean dropped;
+        volatile long inFlightSince;
+        volatile long lastSentAt;
+        volatile Snapshot lastSent;
+
+        Subscriber(String game, SseEmitter emitter) {
+            this.game = game;
+            this.emitter = emitter;
+        }
+    }
+
+    private final ConcurrentMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> dirtyGames = ConcurrentHashMap.newKeySet();
+    // Games with a snapshot build queued or running
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ExecutorService sendExecutor;
+    private ExecutorService snapshotExecutor;
+    private LongCounter droppedCounter;
+    private LongCounter eventCounter;
+
+    @PostConstruct
+    public void start() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(maxSubscribers, 1)),
+                new CustomizableThreadFactory("sse-send-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        sendExecutor = executor;
+        // One queued build per subscribed game at most, and only tracked games and "all" can be subscribed to
+        ThreadPoolExecutor snapshots = new ThreadPoolExecutor(snapshotThreads, snapshotThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("sse-snapshot-"));
+        snapshots.allowCoreThreadTimeOut(true);
+        snapshotExecutor = snapshots;
+
+        meter.gaugeBuilder("scoring.stream.subscribers")
+                .ofLongs()
+                .setDescription("Open live update streams")
+                .setUnit("{subscriber}")
+                .buildWithCallback(measurement -> measurement.record(subscriberCount.get()));
+        droppedCounter = meter.counterBuilder("scoring.stream.dropped")
+                .setDescription("Live update streams closed by the server, by reason")
+                .setUnit("{subscriber}")
+                .build();
+        eventCounter = meter.counterBuilder("scoring.stream.events")
+                .setDescription("Live update events sent, by event name")
+                .setUnit("{event}")
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+        for (Set<Subscriber> gameSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : gameSubscribers) {
+                // Sends still blocked complete their emitter when the write fails or times out
+                subscriber.dropped = true;
+                completeIfIdle(subscriber);
+            }
+        }
+    }
+
+    // Tracked games and "all"; any other name would add a snapshot rebuilt from the database every tick
+    public boolean isStreamable(String game) {
+        return ALL_GAMES.equals(game) || trackedGames.isTracked(game);
+    }
+
+    // Returns null when the subscriber limit is reached
+    public SseEmitter subscribe(String game) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            droppedCounter.add(1, Attributes.of(REASON, "capacity"));
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(game, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        // Atomic with unsubscribe removing the game's set once it is empty
+        subscribers.compute(game, (key, gameSubscribers) -> {
+            Set<Subscriber> set = gameSubscribers != null ? gameSubscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        // The first tick sends the full leaderboard and stats
+        return emitter;
+    }
+
+    // True for the call that actually removed the subscriber
+    private boolean unsubscribe(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.game, (key, gameSubscribers) -> {
+            removed[0] = gameSubscribers.remove(subscriber);
+            return gameSubscribers.isEmpty() ? null : gameSubscribers;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+        return removed[0];
+    }
+
+    @Override
+    public void onGameResult(GameResult result) {
+        dirtyGames.add(result.getGame());
+        dirtyGames.add(ALL_GAMES);
+    }
+
+    // Snapshots are built on the snapshot pool, so a slow leaderboard or stats query holds up neither the
+    // shared scheduler nor other games; a game whose previous build is still running skips this tick
+    @Scheduled(fixedDelayString = "${scoring.stream.tick-ms:250}")
+    public void publish() {
+        for (String game : subscribers.keySet()) {
+            if (!refreshing.add(game)) {
+                continue;
+            }
+            try {
+                snapshotExecutor.execute(() -> {
+                    try {
+                        publish(game);
+                    } finally {
+                        refreshing.remove(game);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.remove(game);
+            }
+        }
+        // Games nobody is subscribed to (any more) need neither a snapshot nor a dirty mark
+        snapshots.keySet().removeIf(game -> !subscribers.containsKey(game));
+        dirtyGames.removeIf(game -> !subscribers.containsKey(game));
+    }
+
+    private void publish(String game) {
+        Set<Subscriber> gameSubscribers = subscribers.get(game);
+        if (gameSubscribers == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        Snapshot snapshot;
+        try {
+            snapshot = currentSnapshot(game, now);
+        } catch (Exception e) {
+            logger.warn("Failed to build live update snapshot: game={}", game, e);
+            return;
+        }
+
+        // Deltas are shared by every subscriber that last saw the same snapshot
+        Map<Snapshot, LeaderboardUpdate> deltas = new HashMap<>();
+        for (Subscriber subscriber : gameSubscribers) {
+            Snapshot previous = subscriber.lastSent;
+            if (previous == snapshot || now - subscriber.lastSentAt < TimeUnit.MILLISECONDS.toNanos(minIntervalMs)) {
+                continue;
+            }
+            if (!subscriber.inFlight.compareAndSet(false, true)) {
+                if (now - subscriber.inFlightSince > TimeUnit.MILLISECONDS.toNanos(slowConsumerTimeoutMs)) {
+                    drop(subscriber, "slow");
+                }
+                continue;
+            }
+            LeaderboardUpdate delta = previous == null
+                    ? new LeaderboardUpdate(game, true, snapshot.leaderboard, List.of())
+                    : deltas.computeIfAbsent(previous, from -> leaderboardDelta(game, from, snapshot));
+            boolean statsChanged = previous == null || previous.stats != snapshot.stats;
+            subscriber.inFlightSince = now;
+            try {
+                sendExecutor.execute(() -> send(subscriber, snapshot, delta, statsChanged));
+            } catch (RejectedExecutionException e) {
+                release(subscriber);
+            }
+        }
+    }
+
+    // Comment lines keep idle connections open through proxies and surface closed ones
+    @Scheduled(fixedDelayString = "${scoring.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> gameSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : gameSubscribers) {
+                if (!subscriber.inFlight.compareAndSet(false, true)) {
+                    continue;
+                }
+                subscriber.inFlightSince = System.nanoTime();
+                try {
+                    sendExecutor.execute(() -> {
+                        try {
+                            subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                        } catch (IOException | IllegalStateException e) {
+                            drop(subscriber, "error");
+                        } finally {
+                            release(subscriber);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    release(subscriber);
+                }
+            }
+        }
+    }
+
+    private Snapshot currentSnapshot(String game, long now) {
+        Snapshot snapshot = snapshots.get(game);
+        boolean dirty = dirtyGames.remove(game);
+        if (snapshot != null && !dirty && now - snapshot.builtAt < TimeUnit.MILLISECONDS.toNanos(snapshotMaxAgeMs)) {
+            return snapshot;
+        }
+
+        List<PlayerScore> top = scoringService.getTopPlayers(game, leaderboardSize);
+        List<ScoreResponse> leaderboard = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            PlayerScore score = top.get(i);
+            leaderboard.add(new ScoreResponse(score.getUsername(), score.getRole(), score.getGame(),
+                    score.getScore(), (long) (i + 1)));
+        }
+        // "all" has no aggregate stats of its own
+        DashboardStats stats = ALL_GAMES.equals(game) ? null : scoringService.getDashboardStats(game);
+
+        // Keep the previous snapshot when nothing changed so subscribers are not sent empty updates
+        if (snapshot != null && stats == snapshot.stats && sameLeaderboard(snapshot.leaderboard, leaderboard)) {
+            snapshot = new Snapshot(snapshot.leaderboard, snapshot.stats, now);
+            // Subscribers compare by identity; carry their view over to the refreshed instance
+            Snapshot refreshed = snapshot;
+            Snapshot stale = snapshots.put(game, refreshed);
+            for (Subscriber subscriber : subscribers.getOrDefault(game, Set.of())) {
+                if (subscriber.lastSent == stale) {
+                    subscriber.lastSent = refreshed;
+                }
+            }
+            return refreshed;
+        }
+        Snapshot built = new Snapshot(leaderboard, stats, now);
+        snapshots.put(game, built);
+        return built;
+    }
+
+    private static boolean sameLeaderboard(List<ScoreResponse> a, List<ScoreResponse> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameEntry(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameEntry(ScoreResponse a, ScoreResponse b) {
+        return Objects.equals(a.getUsername(), b.getUsername())
+                && Objects.equals(a.getScore(), b.getScore())
+                && Objects.equals(a.getRank(), b.getRank());
+    }
+
+    private static LeaderboardUpdate leaderboardDelta(String game, Snapshot from, Snapshot to) {
+        Map<String, ScoreResponse> before = new HashMap<>();
+        for (ScoreResponse entry : from.leaderboard) {
+            before.put(entry.getUsername(), entry);
+        }
+        List<ScoreResponse> changed = new ArrayList<>();
+        for (ScoreResponse entry : to.leaderboard) {
+            ScoreResponse previous = before.remove(entry.getUsername());
+            if (previous == null || !sameEntry(previous, entry)) {
+                changed.add(entry);
+            }
+        }
+        return new LeaderboardUpdate(game, false, changed, new ArrayList<>(before.keySet()));
+    }
+
+    private void send(Subscriber subscriber, Snapshot snapshot, LeaderboardUpdate delta, boolean statsChanged) {
+        try {
+            if (delta.getFull() || !delta.getEntries().isEmpty() || !delta.getRemoved().isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().name("leaderboard").data(delta));
+                eventCounter.add(1, Attributes.of(EVENT, "leaderboard"));
+            }
+            if (statsChanged && snapshot.stats != null) {
+                subscriber.emitter.send(SseEmitter.event().name("stats").data(snapshot.stats));
+                eventCounter.add(1, Attributes.of(EVENT, "stats"));
+            }
+            subscriber.lastSent = snapshot;
+            subscriber.lastSentAt = System.nanoTime();
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, "error");
+        } finally {
+            release(subscriber);
+        }
+    }
+
+    // A slow subscriber's send may still be blocked on the emitter; the send completes it once the write returns
+    private void drop(Subscriber subscriber, String reason) {
+        if (!unsubscribe(subscriber)) {
+            return;
+        }
+        droppedCounter.add(1, Attributes.of(REASON, reason));
+        subscriber.dropped = true;
+        completeIfIdle(subscriber);
+    }
+
+    // Ends a send: frees the slot, or completes the emitter when the subscriber was dropped meanwhile
+    private void release(Subscriber subscriber) {
+        subscriber.inFlight.set(false);
+        if (subscriber.dropped) {
+            completeIfIdle(subscriber);
+        }
+    }
+
+    // Completes the emitter only when no send holds it; the slot is never released, so this runs once
+    private static void completeIfIdle(Subscriber subscriber) {
+        if (!subscriber.inFlight.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already completed
+        }
+    }
+}
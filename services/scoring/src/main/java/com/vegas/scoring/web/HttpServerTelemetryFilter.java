@@ -0,0 +1,192 @@
+package com.vegas.scoring.web;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongUpDownCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// SERVER span, request duration histogram and in-flight gauge for every endpoint.
+// The caller's trace context is extracted here once, so controllers only add attributes to Span.current().
+// The span is named "METHOD route" and the metric attributes are the method, the route template
+// (/api/scoring/leaderboard/{game}, never the raw path) and the status code, so the series count is
+// bounded by the controller mappings. Async responses (SSE stream, export) end when the async request completes.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class HttpServerTelemetryFilter extends OncePerRequestFilter {
+
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("http.request.method");
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<Long> STATUS = AttributeKey.longKey("http.response.status_code");
+    private static final AttributeKey<String> URL_PATH = AttributeKey.stringKey("url.path");
+
+    private static final Set<String> KNOWN_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+    private static final String OTHER_METHOD = "_OTHER";
+    // Requests that matched no handler (404s, static probes) share one route value
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    // Stateless, shared by all requests; keys() is only the propagator's own header names
+    private static final class HeaderGetter implements TextMapGetter<HttpServletRequest> {
+        private final Collection<String> fields;
+
+        HeaderGetter(Collection<String> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public Iterable<String> keys(HttpServletRequest carrier) {
+            return fields;
+        }
+
+        @Override
+        public String get(HttpServletRequest carrier, String key) {
+            return carrier == null ? null : carrier.getHeader(key);
+        }
+    }
+
+    @Autowired
+    private OpenTelemetry openTelemetry;
+
+    @Autowired
+    @Qualifier("tracer")
+    private Tracer tracer;
+
+    @Autowired
+    @Qualifier("meter")
+    private Meter meter;
+
+    private TextMapPropagator propagator;
+    private HeaderGetter getter;
+
+    private DoubleHistogram duration;
+    private LongUpDownCounter activeRequests;
+
+    private final ConcurrentMap<String, Attributes> activeAttributes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Attributes> durationAttributes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        propagator = openTelemetry.getPropagators().getTextMapPropagator();
+        getter = new HeaderGetter(propagator.fields());
+
+        duration = meter.histogramBuilder("http.server.request.duration")
+                .setDescription("Duration of HTTP server requests")
+                .setUnit("s")
+                .build();
+        activeRequests = meter.upDownCounterBuilder("http.server.active_requests")
+                .setDescription("Number of HTTP server requests in flight")
+                .setUnit("{request}")
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        String method = KNOWN_METHODS.contains(request.getMethod()) ? request.getMethod() : OTHER_METHOD;
+        Attributes active = activeAttributes.computeIfAbsent(method, key -> Attributes.of(METHOD, key));
+        activeRequests.add(1, active);
+
+        Context parentContext = propagator.extract(Context.current(), request, getter);
+        Span span = tracer.spanBuilder(method)
+                .setParent(parentContext)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute(METHOD, method)
+                .setAttribute(URL_PATH, request.getRequestURI())
+                .startSpan();
+
+        boolean async = false;
+        boolean failed = false;
+        try (Scope scope = span.makeCurrent()) {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        finish(request, response, method, active, span, start, false);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        span.setStatus(StatusCode.ERROR, "Async request timed out");
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        if (event.getThrowable() != null) {
+                            span.recordException(event.getThrowable());
+                        }
+                        span.setStatus(StatusCode.ERROR);
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            throw e;
+        } finally {
+            if (!async) {
+                finish(request, response, method, active, span, start, failed);
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request, HttpServletResponse response, String method,
+                        Attributes active, Span span, long start, boolean failed) {
+        activeRequests.add(-1, active);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+        // An exception escaping the chain becomes a 500 on the error dispatch, after this filter has returned
+        int status = failed && response.getStatus() < 400 ? 500 : response.getStatus();
+        Attributes attributes = durationAttributes.computeIfAbsent(method + ' ' + status + ' ' + route,
+                key -> Attributes.of(METHOD, method, ROUTE, route, STATUS, (long) status));
+        duration.record((System.nanoTime() - start) / 1_000_000_000.0, attributes);
+
+        if (span.isRecording()) {
+            if (pattern != null) {
+                span.updateName(method + ' ' + route);
+                span.setAttribute(ROUTE, route);
+            }
+            span.setAttribute(STATUS, (long) status);
+            if (status >= 500) {
+                span.setStatus(StatusCode.ERROR);
+            }
+        }
+        span.end();
+    }
+}
@@ -0,0 +1,10 @@
+-- Bet and payout of each player's best game as typed columns, so leaderboard reads no longer parse
+-- the metadata JSON. Backfilled from the metadata written so far; values are pulled out with a regex
+-- rather than a jsonb cast so rows with malformed client metadata are skipped instead of failing the migration.
+ALTER TABLE player_scores ADD COLUMN IF NOT EXISTS initial_bet DOUBLE PRECISION;
+ALTER TABLE player_scores ADD COLUMN IF NOT EXISTS winnings DOUBLE PRECISION;
+
+UPDATE player_scores
+SET initial_bet = substring(metadata FROM '"initial_bet"\s*:\s*(-?[0-9]+(?:\.[0-9]+)?(?:[eE][-+]?[0-9]+)?)')::DOUBLE PRECISION,
+    winnings    = substring(metadata FROM '"winnings"\s*:\s*(-?[0-9]+(?:\.[0-9]+)?(?:[eE][-+]?[0-9]+)?)')::DOUBLE PRECISION
+WHERE metadata LIKE '%"initial_bet"%' OR metadata LIKE '%"winnings"%';
@@ -0,0 +1,4 @@
+-- Incremental leaderboard index refresh: rows touched since the last refresh (WHERE timestamp > ?).
+-- Built concurrently (Flyway runs this migration outside a transaction) so upserts are not blocked.
+-- Every upsert sets timestamp, so player_scores updates are no longer HOT; the index is small and append-mostly.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_player_scores_timestamp ON player_scores (timestamp);
@@ -0,0 +1,9 @@
+-- Game results the async ingest writer could not insert on their own (constraint or data errors), kept as
+-- the JSON that was acknowledged to the client so they can be fixed up and replayed instead of being lost.
+-- Transient failures (database down, timeouts) are retried by the writer and never land here.
+CREATE TABLE IF NOT EXISTS game_results_dead_letter (
+    id        BIGSERIAL PRIMARY KEY,
+    payload   TEXT         NOT NULL,
+    error     TEXT,
+    failed_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
@@ -0,0 +1,33 @@
+-- Baseline schema as previously generated by Hibernate (ddl-auto=update).
+-- IF NOT EXISTS keeps this a no-op on databases that already have the tables.
+
+CREATE TABLE IF NOT EXISTS game_results (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255)     NOT NULL,
+    game       VARCHAR(255)     NOT NULL,
+    action     VARCHAR(255)     NOT NULL,
+    bet_amount DOUBLE PRECISION NOT NULL,
+    payout     DOUBLE PRECISION NOT NULL,
+    win        BOOLEAN          NOT NULL,
+    result     VARCHAR(255),
+    timestamp  TIMESTAMP(6)     NOT NULL,
+    game_data  TEXT,
+    metadata   TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_game_timestamp ON game_results (game, timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_username_timestamp ON game_results (username, timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_game_result ON game_results (game, result);
+
+CREATE TABLE IF NOT EXISTS player_scores (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username  VARCHAR(255)     NOT NULL,
+    role      VARCHAR(255)     NOT NULL,
+    game      VARCHAR(255)     NOT NULL,
+    score     DOUBLE PRECISION NOT NULL,
+    timestamp TIMESTAMP(6)     NOT NULL,
+    metadata  VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_game_score ON player_scores (game, score DESC);
+CREATE INDEX IF NOT EXISTS idx_username_game ON player_scores (username, game);
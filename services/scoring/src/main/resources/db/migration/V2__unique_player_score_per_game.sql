@@ -0,0 +1,31 @@
+-- One player_scores row per (username, game) so the best payout can be maintained with a
+-- single INSERT ... ON CONFLICT statement instead of a read-modify-write.
+
+-- Block concurrent writers from re-introducing duplicates until the constraint exists
+LOCK TABLE player_scores IN SHARE ROW EXCLUSIVE MODE;
+
+-- The surviving row is the best score; stamp it with the most recent activity of the group
+WITH ranked AS (
+    SELECT id,
+           ROW_NUMBER() OVER (PARTITION BY username, game ORDER BY score DESC, timestamp DESC, id DESC) AS rn,
+           MAX(timestamp) OVER (PARTITION BY username, game) AS last_activity
+    FROM player_scores
+)
+UPDATE player_scores ps
+SET timestamp = ranked.last_activity
+FROM ranked
+WHERE ps.id = ranked.id
+  AND ranked.rn = 1
+  AND ps.timestamp <> ranked.last_activity;
+
+DELETE FROM player_scores ps
+USING (
+    SELECT id,
+           ROW_NUMBER() OVER (PARTITION BY username, game ORDER BY score DESC, timestamp DESC, id DESC) AS rn
+    FROM player_scores
+) ranked
+WHERE ps.id = ranked.id
+  AND ranked.rn > 1;
+
+ALTER TABLE player_scores
+    ADD CONSTRAINT uk_player_scores_username_game UNIQUE (username, game);
@@ -0,0 +1,2 @@
+-- Global score ordering for the "all games" leaderboard, which reads only the top rows
+CREATE INDEX IF NOT EXISTS idx_score ON player_scores (score DESC);
@@ -0,0 +1,19 @@
+-- Per-game lifetime aggregates so dashboard totals are O(1) reads instead of scans of game_results.
+-- Replicas add their in-memory deltas periodically; scripts/rebuild-game-stats.sql recomputes it
+-- offline, with every replica stopped.
+CREATE TABLE IF NOT EXISTS game_stats (
+    game             VARCHAR(255) PRIMARY KEY,
+    total_games      BIGINT           NOT NULL DEFAULT 0,
+    total_wins       BIGINT           NOT NULL DEFAULT 0,
+    total_bet_amount DOUBLE PRECISION NOT NULL DEFAULT 0,
+    total_payout     DOUBLE PRECISION NOT NULL DEFAULT 0,
+    updated_at       TIMESTAMP(6)     NOT NULL DEFAULT now()
+);
+
+-- Seed from history
+INSERT INTO game_stats (game, total_games, total_wins, total_bet_amount, total_payout, updated_at)
+SELECT game, COUNT(*), COUNT(*) FILTER (WHERE win), COALESCE(SUM(bet_amount), 0), COALESCE(SUM(payout), 0), now()
+FROM game_results
+WHERE bet_amount > 0
+GROUP BY game
+ON CONFLICT (game) DO NOTHING;
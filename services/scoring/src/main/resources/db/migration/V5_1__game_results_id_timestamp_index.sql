@@ -0,0 +1,5 @@
+-- Unique index for the (id, timestamp) primary key V6 needs on the table it attaches as the history partition.
+-- Built concurrently here (Flyway runs this migration outside a transaction) so that V6 can adopt it with
+-- ADD CONSTRAINT ... USING INDEX instead of building it while holding ACCESS EXCLUSIVE on game_results.
+-- If the build fails, drop the INVALID index it leaves behind before re-running.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_game_results_id_timestamp ON game_results (id, timestamp);
@@ -0,0 +1,2 @@
+-- Keyset pagination over all games ORDER BY timestamp DESC, id DESC (time-range history without a game/user filter)
+CREATE INDEX IF NOT EXISTS idx_timestamp_id ON game_results (timestamp DESC, id DESC);
@@ -0,0 +1,78 @@
+-- Range-partition game_results by day on timestamp so time-bounded queries prune partitions and
+-- old data can be detached instead of deleted row by row. Daily partitions are named
+-- game_results_pYYYYMMDD; GameResultPartitionMaintainer creates upcoming ones and applies retention.
+-- Day boundaries come from ${today}, the JVM's current date (set by FlywayConfig): the same clock that stamps
+-- game results (LocalDateTime.now()) and drives the maintainer, not the database's now(). Rows beyond the
+-- newest daily partition land in game_results_default instead of failing the insert.
+--
+-- Existing rows are not copied: the current table is attached as a single partition for everything
+-- before tomorrow. Its (id, timestamp) index is built beforehand by V5_1 without blocking writes; what still
+-- runs under the ACCESS EXCLUSIVE lock below is one sequential scan of the existing rows to validate the
+-- range CHECK constraint, so writes to game_results stall for that long (no table rewrite, no index build).
+
+-- Block writers (other replicas) until the partitioned table is in place
+LOCK TABLE game_results IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE game_results RENAME TO game_results_legacy;
+ALTER INDEX IF EXISTS idx_game_timestamp RENAME TO idx_game_timestamp_legacy;
+ALTER INDEX IF EXISTS idx_username_timestamp RENAME TO idx_username_timestamp_legacy;
+ALTER INDEX IF EXISTS idx_game_result RENAME TO idx_game_result_legacy;
+ALTER INDEX IF EXISTS idx_timestamp_id RENAME TO idx_timestamp_id_legacy;
+
+-- The partition key must be part of every unique constraint, including the primary key.
+-- Adopts the index built by V5_1 (renamed to the constraint name); both columns are already NOT NULL.
+ALTER TABLE game_results_legacy DROP CONSTRAINT IF EXISTS game_results_pkey;
+ALTER TABLE game_results_legacy ADD CONSTRAINT game_results_legacy_pkey
+    PRIMARY KEY USING INDEX idx_game_results_id_timestamp;
+
+-- Partitions cannot carry their own id generator; ids come from one sequence on the parent
+ALTER TABLE game_results_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE game_results_legacy ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS game_results_id_seq AS BIGINT;
+SELECT setval('game_results_id_seq', COALESCE((SELECT MAX(id) FROM game_results_legacy), 0) + 1, false);
+
+CREATE TABLE game_results (
+    id         BIGINT           NOT NULL DEFAULT nextval('game_results_id_seq'),
+    username   VARCHAR(255)     NOT NULL,
+    game       VARCHAR(255)     NOT NULL,
+    action     VARCHAR(255)     NOT NULL,
+    bet_amount DOUBLE PRECISION NOT NULL,
+    payout     DOUBLE PRECISION NOT NULL,
+    win        BOOLEAN          NOT NULL,
+    result     VARCHAR(255),
+    timestamp  TIMESTAMP(6)     NOT NULL,
+    game_data  TEXT,
+    metadata   TEXT,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE game_results_id_seq OWNED BY game_results.id;
+
+-- Created on the parent, cascaded to every current and future partition
+-- (the renamed legacy indexes have the same definitions and are attached rather than rebuilt)
+CREATE INDEX idx_game_timestamp ON game_results (game, timestamp DESC);
+CREATE INDEX idx_username_timestamp ON game_results (username, timestamp DESC);
+CREATE INDEX idx_game_result ON game_results (game, result);
+CREATE INDEX idx_timestamp_id ON game_results (timestamp DESC, id DESC);
+
+DO $$
+DECLARE
+    cutoff TIMESTAMP := DATE '${today}' + INTERVAL '1 day';
+    day    TIMESTAMP;
+BEGIN
+    -- History becomes one partition; the constraint lets ATTACH skip its own validation scan
+    EXECUTE format('ALTER TABLE game_results_legacy ADD CONSTRAINT game_results_legacy_range CHECK (timestamp < %L)', cutoff);
+    EXECUTE format('ALTER TABLE game_results ATTACH PARTITION game_results_legacy FOR VALUES FROM (MINVALUE) TO (%L)', cutoff);
+    ALTER TABLE game_results_legacy DROP CONSTRAINT game_results_legacy_range;
+
+    -- A week of daily partitions; the maintenance job keeps creating them ahead of time
+    FOR i IN 0..6 LOOP
+        day := cutoff + make_interval(days => i);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF game_results FOR VALUES FROM (%L) TO (%L)',
+                       'game_results_p' || to_char(day, 'YYYYMMDD'), day, day + INTERVAL '1 day');
+    END LOOP;
+END $$;
+
+-- Catches rows past the newest daily partition (maintenance disabled, failing or behind); the maintainer
+-- moves them into their daily partition when it creates it, and reports how far ahead partitions reach
+CREATE TABLE IF NOT EXISTS game_results_default PARTITION OF game_results DEFAULT;
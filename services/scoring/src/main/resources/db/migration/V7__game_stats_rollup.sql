@@ -0,0 +1,16 @@
+-- Time-bucketed per-game aggregates for charts. Instances add closed minute buckets;
+-- the compaction job recomputes hour rows from minutes and day rows from hours.
+CREATE TABLE IF NOT EXISTS game_stats_rollup (
+    game           VARCHAR(255)     NOT NULL,
+    resolution     VARCHAR(8)       NOT NULL,  -- minute, hour, day
+    bucket_start   TIMESTAMP(6)     NOT NULL,
+    games          BIGINT           NOT NULL DEFAULT 0,
+    wins           BIGINT           NOT NULL DEFAULT 0,
+    bet_amount     DOUBLE PRECISION NOT NULL DEFAULT 0,
+    payout         DOUBLE PRECISION NOT NULL DEFAULT 0,
+    active_players BIGINT           NOT NULL DEFAULT 0,
+    PRIMARY KEY (game, resolution, bucket_start)
+);
+
+-- Retention deletes scan by age across games
+CREATE INDEX IF NOT EXISTS idx_rollup_resolution_bucket ON game_stats_rollup (resolution, bucket_start);
@@ -0,0 +1,4 @@
+-- Serialized HyperLogLog of the players in each rollup bucket (see HyperLogLog.toBytes).
+-- Sketches are unioned across instances and across buckets, so active_players becomes a
+-- distinct-count estimate (about 1% error) instead of a per-instance count.
+ALTER TABLE game_stats_rollup ADD COLUMN IF NOT EXISTS players_hll BYTEA;
@@ -0,0 +1,10 @@
+-- Per-game DDSketch quantile sketches (see DDSketch.toBytes) for bet amount, payout and net win.
+-- Replicas merge the sketch of the results ingested since their previous checkpoint into the shared
+-- row, so quantiles cover every result since this migration ran; history is not seeded.
+CREATE TABLE IF NOT EXISTS game_quantile_sketches (
+    game       VARCHAR(255) NOT NULL,
+    metric     VARCHAR(16)  NOT NULL,  -- bet_amount, payout, net_win
+    sketch     BYTEA        NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (game, metric)
+);
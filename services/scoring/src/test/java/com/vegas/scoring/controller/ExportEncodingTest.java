@@ -0,0 +1,70 @@
+package com.vegas.scoring.controller;
+
+import com.vegas.scoring.service.GameResultExporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExportEncodingTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ScoringController controller = new ScoringController();
+        ReflectionTestUtils.setField(controller, "gameResultExporter", mock(GameResultExporter.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void parsesCodingsAndQualities() {
+        assertTrue(ScoringController.acceptsGzip("gzip"));
+        assertTrue(ScoringController.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(ScoringController.acceptsGzip("GZIP ; Q=1"));
+        assertTrue(ScoringController.acceptsGzip("x-gzip"));
+        assertTrue(ScoringController.acceptsGzip("br, *"));
+        assertFalse(ScoringController.acceptsGzip(null));
+        assertFalse(ScoringController.acceptsGzip("identity"));
+        assertFalse(ScoringController.acceptsGzip("gzip;q=0"));
+        assertFalse(ScoringController.acceptsGzip("gzip;q=0.000, *"));
+        assertFalse(ScoringController.acceptsGzip("*;q=0"));
+        assertFalse(ScoringController.acceptsGzip("gzip;q=oops"));
+        assertFalse(ScoringController.acceptsGzip("gzipped"));
+    }
+
+    @Test
+    void refusedGzipIsNotCompressedAndVaryIsSet() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/scoring/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    void acceptedGzipIsCompressedAndVaryIsSet() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/scoring/export").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.vegas.scoring.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void ranksAndSelectsInComparatorOrder() {
+        OrderStatisticTree<Integer> tree = shuffledTree(1_000);
+
+        assertEquals(1_000, tree.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, tree.countBefore(i));
+            assertEquals(i, tree.select(i));
+        }
+        assertNull(tree.select(1_000));
+        assertEquals(1_000, tree.countBefore(5_000));
+    }
+
+    @Test
+    void slicesReturnTopNAndNeighbours() {
+        OrderStatisticTree<Integer> tree = shuffledTree(100);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), tree.slice(0, 5));
+        assertEquals(List.of(40, 41, 42), tree.slice(40, 3));
+        assertEquals(List.of(98, 99), tree.slice(98, 10));
+        assertTrue(tree.slice(100, 5).isEmpty());
+        assertTrue(tree.slice(0, 0).isEmpty());
+    }
+
+    @Test
+    void removalUpdatesRanks() {
+        OrderStatisticTree<Integer> tree = shuffledTree(1_000);
+
+        for (int i = 0; i < 1_000; i += 2) {
+            assertTrue(tree.remove(i));
+        }
+        assertFalse(tree.remove(0));
+
+        assertEquals(500, tree.size());
+        assertEquals(250, tree.countBefore(501));
+        assertEquals(501, tree.select(250));
+        assertEquals(List.of(1, 3, 5), tree.slice(0, 3));
+    }
+
+    @Test
+    void highestScoreRanksFirst() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        for (int score : new int[] {50, 900, 300, 10}) {
+            tree.insert(score);
+        }
+
+        assertEquals(List.of(900, 300), tree.slice(0, 2));
+        assertEquals(2, tree.countBefore(50));
+    }
+
+    private static OrderStatisticTree<Integer> shuffledTree(int size) {
+        List<Integer> values = IntStream.range(0, size).boxed().collect(Collectors.toCollection(ArrayList::new));
+        Collections.shuffle(values, new Random(42));
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        for (Integer value : values) {
+            tree.insert(value);
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,144 @@
+package com.vegas.scoring.service;
+
+import com.vegas.scoring.dto.DashboardStats;
+import com.vegas.scoring.model.GameResult;
+import io.opentelemetry.api.metrics.MeterProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardStatsCacheTest {
+
+    private DashboardStatsCache cache;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        TrackedGames trackedGames = new TrackedGames();
+        ReflectionTestUtils.invokeMethod(trackedGames, "setConfigured", List.of("slots"));
+        ReflectionTestUtils.setField(trackedGames, "maxTracked", 1);
+
+        cache = new DashboardStatsCache();
+        ReflectionTestUtils.setField(cache, "meter", MeterProvider.noop().get("test"));
+        ReflectionTestUtils.setField(cache, "trackedGames", trackedGames);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "minRefreshIntervalMs", 0L);
+        cache.start();
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        cache.stop();
+    }
+
+    @Test
+    void concurrentMissesShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<DashboardStats> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return stats("slots");
+        };
+
+        List<Future<DashboardStats>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> cache.getGame("slots", loader)));
+        }
+        // Let the other callers pile up behind the first computation before it completes
+        Thread.sleep(200);
+        release.countDown();
+
+        DashboardStats first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<DashboardStats> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertSame(first, cache.getGame("slots", () -> stats("unexpected")));
+    }
+
+    @Test
+    void failedComputationIsSharedAndNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> cache.getGame("slots", () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("database down");
+        }));
+        DashboardStats recovered = cache.getGame("slots", () -> {
+            loads.incrementAndGet();
+            return stats("slots");
+        });
+
+        assertEquals("slots", recovered.getGame());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void resultForACachedGameTriggersOneBackgroundRefresh() throws Exception {
+        DashboardStats cached = cache.getGame("slots", () -> stats("slots"));
+        CountDownLatch refreshed = new CountDownLatch(1);
+        DashboardStats fresh = stats("slots");
+
+        cache.onGameResult(new GameResult("player-1", "slots", "spin", 10.0, 0.0, false));
+        // Still served from the cache while the refresh runs
+        assertSame(cached, cache.getGame("slots", () -> {
+            refreshed.countDown();
+            return fresh;
+        }));
+
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getGame("slots", () -> stats("unexpected")) != fresh && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertSame(fresh, cache.getGame("slots", () -> stats("unexpected")));
+    }
+
+    @Test
+    void untrackedGamesAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<DashboardStats> loader = () -> {
+            loads.incrementAndGet();
+            return stats("junk");
+        };
+
+        cache.getGame("junk", loader);
+        cache.getGame("junk", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static DashboardStats stats(String game) {
+        DashboardStats stats = new DashboardStats();
+        stats.setGame(game);
+        return stats;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.vegas.scoring.service;
+
+import com.vegas.scoring.dto.GameResultPage;
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.repository.GameResultJdbcRepository;
+import io.opentelemetry.api.trace.TracerProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Keyset cursor of GET /api/scoring/history: the cursor of one page resumes after its last row
+class GameResultHistoryCursorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+    private GameResultJdbcRepository repository;
+    private ScoringService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(GameResultJdbcRepository.class);
+        service = new ScoringService();
+        ReflectionTestUtils.setField(service, "gameResultJdbcRepository", repository);
+        ReflectionTestUtils.setField(service, "tracer", TracerProvider.noop().get("test"));
+    }
+
+    @Test
+    void cursorResumesAfterTheLastRowOfThePage() {
+        List<GameResult> firstPage = rows(3, 100L);
+        when(repository.findPage(eq("slots"), isNull(), isNull(), isNull(), isNull(), isNull(), eq(3)))
+                .thenReturn(firstPage);
+
+        GameResultPage page = service.getGameResultHistory("slots", null, null, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNext());
+
+        GameResult last = firstPage.get(1);
+        when(repository.findPage(any(), any(), any(), any(), any(), any(), anyInt())).thenReturn(rows(1, 98L));
+        GameResultPage next = service.getGameResultHistory("slots", null, null, null, page.getNext(), 2);
+
+        verify(repository).findPage("slots", null, null, null, last.getTimestamp(), last.getId(), 3);
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNext());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String cursor : List.of("%%%", encode("no-separator"), encode("yesterday|7"), encode(NOW + "|seven"),
+                encode(NOW + "|7|8"))) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.getGameResultHistory(null, null, null, null, cursor, 10), cursor);
+        }
+    }
+
+    // Newest first, one second apart, ids counting down from firstId
+    private static List<GameResult> rows(int count, long firstId) {
+        List<GameResult> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            GameResult result = new GameResult("player-" + i, "slots", "spin", 10.0, 0.0, false);
+            result.setId(firstId - i);
+            result.setTimestamp(NOW.minusSeconds(i));
+            rows.add(result);
+        }
+        return rows;
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.vegas.scoring.service;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.repository.GameResultJdbcRepository;
+import io.opentelemetry.api.metrics.MeterProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameResultIngestQueueTest {
+
+    private ScoringService scoringService;
+    private GameResultJdbcRepository gameResultJdbcRepository;
+    private GameResultIngestQueue ingestQueue;
+
+    @BeforeEach
+    void setUp() {
+        scoringService = mock(ScoringService.class);
+        gameResultJdbcRepository = mock(GameResultJdbcRepository.class);
+        ingestQueue = new GameResultIngestQueue();
+        ReflectionTestUtils.setField(ingestQueue, "scoringService", scoringService);
+        ReflectionTestUtils.setField(ingestQueue, "gameResultJdbcRepository", gameResultJdbcRepository);
+        ReflectionTestUtils.setField(ingestQueue, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(ingestQueue, "meter", MeterProvider.noop().get("test"));
+        ReflectionTestUtils.setField(ingestQueue, "enabled", true);
+        ReflectionTestUtils.setField(ingestQueue, "capacity", 2);
+        ReflectionTestUtils.setField(ingestQueue, "batchSize", 1);
+        ReflectionTestUtils.setField(ingestQueue, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(ingestQueue, "retryInitialMs", 5L);
+        ReflectionTestUtils.setField(ingestQueue, "retryMaxMs", 20L);
+        ReflectionTestUtils.setField(ingestQueue, "shutdownTimeoutMs", 200L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestQueue.shutdown();
+    }
+
+    @Test
+    void transientFailureRetriesTheSameBatch() {
+        CannotGetJdbcConnectionException down = new CannotGetJdbcConnectionException("connection refused");
+        when(scoringService.recordGameResults(anyList())).thenThrow(down).thenThrow(down).thenReturn(1);
+        ingestQueue.start();
+
+        assertTrue(ingestQueue.offer(result("alice")));
+
+        verify(scoringService, timeout(2000).times(3))
+                .recordGameResults(argThat(batch -> batch.size() == 1 && batch.get(0).getUsername().equals("alice")));
+        verify(gameResultJdbcRepository, never()).insertDeadLetter(anyString(), anyString());
+    }
+
+    @Test
+    void queueFillsAndRejectsWhileDatabaseIsDown() {
+        when(scoringService.recordGameResults(anyList()))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager"));
+        ingestQueue.start();
+
+        assertTrue(ingestQueue.offer(result("first")));
+        // The writer holds "first" and keeps retrying it instead of draining further
+        verify(scoringService, timeout(2000).atLeast(2)).recordGameResults(anyList());
+        assertTrue(ingestQueue.offer(result("second")));
+        assertTrue(ingestQueue.offer(result("third")));
+
+        assertFalse(ingestQueue.offer(result("fourth")));
+        verify(gameResultJdbcRepository, never()).insertDeadLetter(anyString(), anyString());
+    }
+
+    @Test
+    void rejectedRowIsDeadLetteredAndTheRestWritten() {
+        ReflectionTestUtils.setField(ingestQueue, "capacity", 10);
+        ReflectionTestUtils.setField(ingestQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(ingestQueue, "flushIntervalMs", 200L);
+        when(scoringService.recordGameResults(anyList())).thenAnswer(invocation -> {
+            List<GameResult> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(r -> r.getUsername().equals("bad"))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            return batch.size();
+        });
+        ingestQueue.start();
+
+        assertTrue(ingestQueue.offer(result("alice")));
+        assertTrue(ingestQueue.offer(result("bad")));
+        assertTrue(ingestQueue.offer(result("bob")));
+
+        verify(gameResultJdbcRepository, timeout(2000)).insertDeadLetter(contains("\"username\":\"bad\""), anyString());
+        verify(scoringService, timeout(2000))
+                .recordGameResults(argThat(batch -> batch.size() == 1 && batch.get(0).getUsername().equals("alice")));
+        verify(scoringService, timeout(2000))
+                .recordGameResults(argThat(batch -> batch.size() == 1 && batch.get(0).getUsername().equals("bob")));
+        verify(gameResultJdbcRepository, after(100).times(1)).insertDeadLetter(anyString(), anyString());
+    }
+
+    @Test
+    void classifiesTransientFailures() {
+        assertTrue(GameResultIngestQueue.isTransient(new CannotGetJdbcConnectionException("refused")));
+        assertTrue(GameResultIngestQueue.isTransient(new QueryTimeoutException("statement timeout")));
+        assertTrue(GameResultIngestQueue.isTransient(
+                new RuntimeException("wrapped", new SQLException("terminating connection", "57P01"))));
+        assertFalse(GameResultIngestQueue.isTransient(new DataIntegrityViolationException("duplicate key")));
+        assertFalse(GameResultIngestQueue.isTransient(new SQLException("invalid input syntax", "22P02")));
+        assertFalse(GameResultIngestQueue.isTransient(new IllegalStateException("no cause")));
+    }
+
+    private static GameResult result(String username) {
+        return new GameResult(username, "slots", "spin", 10.0, 0.0, false);
+    }
+}
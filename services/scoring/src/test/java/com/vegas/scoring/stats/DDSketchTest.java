@@ -0,0 +1,93 @@
+package com.vegas.scoring.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DDSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.1, 0.5, 0.9, 0.99, 0.999, 1.0};
+
+    @Test
+    void quantilesAreWithinTheRelativeAccuracy() {
+        DDSketch sketch = new DDSketch();
+        for (int i = 1; i <= 100_000; i++) {
+            sketch.add(i);
+        }
+
+        assertEquals(100_000, sketch.getCount());
+        for (double q : QUANTILES) {
+            double exact = 1 + Math.floor(q * 99_999);
+            assertRelative(exact, sketch.quantile(q));
+        }
+    }
+
+    @Test
+    void negativeAndZeroValuesKeepTheirOrder() {
+        DDSketch sketch = new DDSketch();
+        for (int i = -50; i <= 50; i++) {
+            sketch.add(i);
+        }
+
+        assertRelative(-50, sketch.quantile(0.0));
+        assertEquals(0.0, sketch.quantile(0.5));
+        assertRelative(50, sketch.quantile(1.0));
+    }
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        DDSketch sketch = new DDSketch();
+        sketch.add(Double.NaN);
+        sketch.add(Double.POSITIVE_INFINITY);
+
+        assertEquals(0, sketch.getCount());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        DDSketch sketch = new DDSketch();
+        for (int i = -1_000; i <= 10_000; i += 7) {
+            sketch.add(i * 1.5);
+        }
+
+        DDSketch restored = DDSketch.fromBytes(sketch.toBytes());
+
+        assertEquals(sketch.getCount(), restored.getCount());
+        for (double q : QUANTILES) {
+            assertEquals(sketch.quantile(q), restored.quantile(q));
+        }
+    }
+
+    @Test
+    void mergeMatchesASketchOfEveryValue() {
+        DDSketch all = new DDSketch();
+        DDSketch low = new DDSketch();
+        DDSketch high = new DDSketch();
+        for (int i = 1; i <= 20_000; i++) {
+            all.add(i);
+            (i <= 5_000 ? low : high).add(i);
+        }
+
+        DDSketch merged = low.copy().merge(high);
+
+        assertEquals(all.getCount(), merged.getCount());
+        for (double q : QUANTILES) {
+            assertEquals(all.quantile(q), merged.quantile(q));
+        }
+        assertEquals(5_000, low.getCount());
+    }
+
+    @Test
+    void rejectsSketchesWithDifferentAccuracy() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DDSketch().merge(new DDSketch(0.02, DDSketch.DEFAULT_MAX_BINS)));
+    }
+
+    private static void assertRelative(double expected, double actual) {
+        assertTrue(Math.abs(actual - expected) <= Math.abs(expected) * DDSketch.DEFAULT_RELATIVE_ACCURACY + 1e-9,
+                "quantile " + actual + " is not within 1% of " + expected);
+    }
+}
@@ -0,0 +1,90 @@
+package com.vegas.scoring.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    // Standard error at precision 13 is about 1.1%; 4% keeps the check well clear of chance failures
+    private static final double TOLERANCE = 0.04;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 100_000, 1_000_000})
+    void estimateSurvivesSerialization(int distinct) {
+        HyperLogLog sketch = sketchOf(0, distinct);
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertWithin(distinct, sketch.estimate());
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+    }
+
+    // The hash is fixed, so estimates are reproducible; a change here changes every stored sketch
+    @ParameterizedTest
+    @CsvSource({"1000, 1000", "100000, 100384", "1000000, 989143"})
+    void estimatesAreStable(int distinct, long estimate) {
+        HyperLogLog sketch = sketchOf(0, distinct);
+
+        assertEquals(estimate, sketch.estimate());
+        assertEquals(estimate, HyperLogLog.fromBytes(sketch.toBytes()).estimate());
+    }
+
+    @Test
+    void smallSketchesUseTheSparseFormat() {
+        assertEquals(2 + 4 + 3 * 10, sketchOf(0, 10).toBytes().length);
+        // Dense: 8192 registers of 6 bits plus the two header bytes
+        assertEquals(2 + 8192 * 6 / 8, sketchOf(0, 100_000).toBytes().length);
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = sketchOf(0, 60_000);
+        HyperLogLog second = sketchOf(40_000, 100_000);
+
+        HyperLogLog union = first.copy().merge(second);
+
+        assertWithin(100_000, union.estimate());
+        assertEquals(sketchOf(0, 100_000).estimate(), union.estimate());
+        // copy() left the original untouched
+        assertEquals(sketchOf(0, 60_000).estimate(), first.estimate());
+    }
+
+    @Test
+    void duplicatesDoNotCount() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 500; i++) {
+                sketch.add("user" + i);
+            }
+        }
+        assertWithin(500, sketch.estimate());
+    }
+
+    @Test
+    void rejectsMismatchedPrecisionAndUnknownFormats() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(13)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {9, 13}));
+    }
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add("user" + i);
+        }
+        return sketch;
+    }
+
+    private static void assertWithin(long expected, long estimate) {
+        assertTrue(Math.abs(estimate - expected) <= expected * TOLERANCE,
+                "estimate " + estimate + " is not within " + TOLERANCE + " of " + expected);
+    }
+}
@@ -0,0 +1,170 @@
+package com.vegas.scoring.stats;
+
+import com.vegas.scoring.model.GameResult;
+import com.vegas.scoring.service.TrackedGames;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.TracerProvider;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RtpMonitorTest {
+
+    private static final int SPIN_WINDOW = 100;
+
+    private TestMetricReader reader;
+    private SdkMeterProvider meterProvider;
+    private RtpMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        reader = new TestMetricReader();
+        meterProvider = SdkMeterProvider.builder().registerMetricReader(reader).build();
+
+        TrackedGames trackedGames = new TrackedGames();
+        ReflectionTestUtils.invokeMethod(trackedGames, "setConfigured", List.of("slots", "blackjack"));
+        ReflectionTestUtils.setField(trackedGames, "maxTracked", 2);
+
+        monitor = new RtpMonitor();
+        ReflectionTestUtils.setField(monitor, "meter", meterProvider.get("test"));
+        ReflectionTestUtils.setField(monitor, "tracer", TracerProvider.noop().get("test"));
+        ReflectionTestUtils.setField(monitor, "trackedGames", trackedGames);
+        ReflectionTestUtils.setField(monitor, "spinWindow", SPIN_WINDOW);
+        ReflectionTestUtils.setField(monitor, "slices", 60);
+        ReflectionTestUtils.setField(monitor, "zScore", 3.0);
+        ReflectionTestUtils.setField(monitor, "minSamples", 50L);
+        ReflectionTestUtils.setField(monitor, "maxActionsPerGame", 4);
+        ReflectionTestUtils.invokeMethod(monitor, "setTimeWindows", (Object) new String[] {"5m"});
+        ReflectionTestUtils.invokeMethod(monitor, "setTargets", (Object) new String[] {"slots=0.95"});
+        ReflectionTestUtils.invokeMethod(monitor, "setActionGames", (Object) new String[] {"blackjack"});
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        meterProvider.shutdown();
+    }
+
+    @Test
+    void spinWindowOnlyCoversTheLastResults() {
+        spins("slots", "spin", 150, 10.0, 10.0);
+        spins("slots", "spin", SPIN_WINDOW, 10.0, 5.0);
+
+        Map<String, Double> rtp = rtp("slots", "all");
+
+        assertEquals(0.5, rtp.get("last_" + SPIN_WINDOW), 1e-9);
+        // The time window still holds every result: (150 * 10 + 100 * 5) / (250 * 10)
+        assertEquals(0.8, rtp.get("5m"), 1e-9);
+    }
+
+    @Test
+    void windowsDriftingFromTheTargetAreOutOfBand() {
+        // Alternating losses and 3x wins: RTP 1.5 against a 0.95 target
+        for (int i = 0; i < SPIN_WINDOW; i++) {
+            spins("slots", "spin", 1, 10.0, i % 2 == 0 ? 0.0 : 30.0);
+        }
+        assertEquals(Map.of("last_" + SPIN_WINDOW, 1L, "5m", 1L), outOfBand("slots", "all"));
+
+        // Back on target: the spin window recovers once the drifting results have left it
+        spins("slots", "spin", SPIN_WINDOW, 10.0, 9.5);
+        assertEquals(0L, outOfBand("slots", "all").get("last_" + SPIN_WINDOW));
+    }
+
+    @Test
+    void monitorsActionsOfActionGamesAndOnlyTrackedGames() {
+        spins("blackjack", "double", 10, 20.0, 40.0);
+        spins("blackjack", "stand", 10, 10.0, 0.0);
+        spins("roulette", "red", 10, 10.0, 20.0);
+
+        assertEquals(2.0, rtp("blackjack", "double").get("5m"), 1e-9);
+        assertEquals(0.0, rtp("blackjack", "stand").get("5m"), 1e-9);
+        assertEquals(400.0 / 300.0, rtp("blackjack", "all").get("5m"), 1e-9);
+        assertFalse(rtp("roulette", "all").containsKey("5m"));
+    }
+
+    private void spins(String game, String action, int count, double bet, double payout) {
+        for (int i = 0; i < count; i++) {
+            monitor.onGameResult(new GameResult("player-" + i, game, action, bet, payout, payout > bet));
+        }
+    }
+
+    // window -> value of the scoring.rtp gauge for one game and action
+    private Map<String, Double> rtp(String game, String action) {
+        Map<String, Double> values = new HashMap<>();
+        for (MetricData metric : reader.collect()) {
+            if (metric.getName().equals("scoring.rtp")) {
+                for (DoublePointData point : metric.getDoubleGaugeData().getPoints()) {
+                    if (matches(point.getAttributes().asMap(), game, action)) {
+                        values.put(point.getAttributes().get(AttributeKey.stringKey("window")), point.getValue());
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private Map<String, Long> outOfBand(String game, String action) {
+        Map<String, Long> values = new HashMap<>();
+        for (MetricData metric : reader.collect()) {
+            if (metric.getName().equals("scoring.rtp.out_of_band")) {
+                for (LongPointData point : metric.getLongGaugeData().getPoints()) {
+                    if (matches(point.getAttributes().asMap(), game, action)) {
+                        values.put(point.getAttributes().get(AttributeKey.stringKey("window")), point.getValue());
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private static boolean matches(Map<AttributeKey<?>, Object> attributes, String game, String action) {
+        return game.equals(attributes.get(AttributeKey.stringKey("game")))
+                && action.equals(attributes.get(AttributeKey.stringKey("action")));
+    }
+
+    // Pull-based reader: gauges are evaluated on collect
+    private static final class TestMetricReader implements MetricReader {
+        private CollectionRegistration registration = CollectionRegistration.noop();
+
+        @Override
+        public void register(CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        java.util.Collection<MetricData> collect() {
+            return registration.collectAllMetrics();
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
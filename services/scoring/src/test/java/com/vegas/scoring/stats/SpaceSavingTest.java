@@ -0,0 +1,79 @@
+package com.vegas.scoring.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingTest {
+
+    @Test
+    void mergeOfSummariesWithRoomIsExact() {
+        SpaceSaving first = new SpaceSaving(10);
+        SpaceSaving second = new SpaceSaving(10);
+        first.add("alice", 5);
+        first.add("bob", 3);
+        second.add("alice", 2);
+        second.add("carol", 4);
+
+        List<SpaceSaving.Counter> top = first.merge(second).top(10);
+
+        assertEquals(List.of("alice", "carol", "bob"), keys(top));
+        assertEquals(7, top.get(0).getWeight());
+        assertEquals(0, top.get(0).getError());
+    }
+
+    @Test
+    void mergeOfFullSummariesKeepsHeavyKeysWithinTheirErrorBounds() {
+        Map<String, Double> exact = new HashMap<>();
+        SpaceSaving first = new SpaceSaving(20);
+        SpaceSaving second = new SpaceSaving(20);
+        // Five heavy players on both halves, a long tail of light ones
+        for (int i = 0; i < 5_000; i++) {
+            String heavy = "whale-" + (i % 5);
+            String light = "player-" + i;
+            SpaceSaving half = i % 2 == 0 ? first : second;
+            half.add(heavy, 10);
+            half.add(light, 1);
+            exact.merge(heavy, 10.0, Double::sum);
+            exact.merge(light, 1.0, Double::sum);
+        }
+
+        List<SpaceSaving.Counter> top = first.merge(second).top(5);
+
+        assertEquals(List.of("whale-0", "whale-1", "whale-2", "whale-3", "whale-4"),
+                keys(top).stream().sorted().collect(Collectors.toList()));
+        for (SpaceSaving.Counter counter : first.top(20)) {
+            double truth = exact.get(counter.getKey());
+            assertTrue(counter.getWeight() >= truth, counter.getKey() + " underestimated");
+            assertTrue(counter.getWeight() - counter.getError() <= truth, counter.getKey() + " error bound too small");
+        }
+    }
+
+    @Test
+    void evictionKeepsCapacityAndIgnoresNonPositiveWeights() {
+        SpaceSaving summary = new SpaceSaving(3);
+        summary.add("a", 10);
+        summary.add("b", 5);
+        summary.add("c", 1);
+        summary.add("d", 2);
+        summary.add("e", 0);
+        summary.add("f", -4);
+
+        List<SpaceSaving.Counter> top = summary.top(10);
+
+        assertEquals(List.of("a", "b", "d"), keys(top));
+        // d replaced c and inherited its weight as the error
+        assertEquals(3, top.get(2).getWeight());
+        assertEquals(1, top.get(2).getError());
+    }
+
+    private static List<String> keys(List<SpaceSaving.Counter> counters) {
+        return counters.stream().map(SpaceSaving.Counter::getKey).collect(Collectors.toList());
+    }
+}